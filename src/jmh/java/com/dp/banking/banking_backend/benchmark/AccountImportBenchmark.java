@@ -0,0 +1,123 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.dto.ImportReport;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import en masse par {@code POST /api/accounts/import} : N comptes au format CSV, puis N autres en NDJSON,
+ * puis le même fichier CSV une seconde fois (toutes les lignes en double, vérifiées via le filtre de Bloom).
+ * Une ligne sur mille porte un IBAN invalide. Les fichiers sont écrits sur disque puis envoyés en flux ;
+ * le débit est donné côté serveur (bilan de l'import) et de bout en bout (envoi compris).
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec@import -Dimport.rows=1000000
+ * </pre>
+ */
+public final class AccountImportBenchmark {
+    
+    private static final long CSV_OFFSET = 60_000_000_000L;
+    private static final long NDJSON_OFFSET = 70_000_000_000L;
+    private static final int INVALID_EVERY = 1000;
+    private static final String[] TYPES = {"CHECKING", "SAVINGS", "BUSINESS"};
+    
+    private AccountImportBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        long rows = Long.getLong("import.rows", 1_000_000);
+        Path directory = Path.of(System.getProperty("import.dir", "target/import-bench")).toAbsolutePath();
+        Files.createDirectories(directory);
+        AccountNumberGenerator generator = new AccountNumberGenerator();
+        Path csv = writeCsv(directory.resolve("accounts.csv"), rows, generator);
+        Path ndjson = writeNdjson(directory.resolve("accounts.ndjson"), rows, generator);
+        System.out.printf("Fichiers générés : %d lignes, CSV %d Mo, NDJSON %d Mo%n",
+                rows, Files.size(csv) >> 20, Files.size(ndjson) >> 20);
+        
+        JsonMapper mapper = JsonMapper.builder().build();
+        List<Result> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = BenchmarkContext.startWeb("banking.admission.enabled=false");
+             HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/accounts/import");
+            results.add(post(client, mapper, uri, "CSV", "text/csv", csv));
+            results.add(post(client, mapper, uri, "NDJSON", "application/x-ndjson", ndjson));
+            results.add(post(client, mapper, uri, "CSV en double", "text/csv", csv));
+        }
+        
+        System.out.printf("%n%-14s %10s %10s %10s %16s %16s%n", "import", "lignes", "créés", "rejetés", "lignes/s serveur", "lignes/s total");
+        for (Result result : results) {
+            System.out.printf("%-14s %10d %10d %10d %16d %16d%n", result.name(), result.rows(), result.imported(),
+                    result.rejected(), result.serverRowsPerSecond(), result.endToEndRowsPerSecond());
+        }
+        String output = System.getProperty("import.output");
+        if (output != null) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(new File(output), results);
+        }
+    }
+    
+    private static Result post(HttpClient client, JsonMapper mapper, URI uri, String name, String contentType, Path file)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofFile(file))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Import " + name + " refusé : HTTP " + response.statusCode());
+        }
+        ImportReport report = mapper.readValue(response.body(), ImportReport.class);
+        System.out.printf("%s : %d lignes, %d comptes créés, %d rejetées en %d ms (%d lignes/s)%n",
+                name, report.rows(), report.imported(), report.rejected(), report.elapsedMs(), report.rowsPerSecond());
+        return new Result(name, report.rows(), report.imported(), report.rejected(), report.rowsPerSecond(),
+                report.rows() * 1000 / elapsedMs);
+    }
+    
+    private static Path writeCsv(Path file, long rows, AccountNumberGenerator generator) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("accountNumber,accountHolder,balance,accountType,isActive\n");
+            for (long i = 0; i < rows; i++) {
+                writer.write(accountNumber(generator, CSV_OFFSET, i));
+                writer.write(",\"Client " + i + ", partenaire\"," + (i % 100_000) + "." + (i % 100) + "," + TYPES[(int) (i % 3)] + ",true\n");
+            }
+        }
+        return file;
+    }
+    
+    private static Path writeNdjson(Path file, long rows, AccountNumberGenerator generator) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (long i = 0; i < rows; i++) {
+                writer.write("{\"accountNumber\":\"" + accountNumber(generator, NDJSON_OFFSET, i)
+                        + "\",\"accountHolder\":\"Client " + i + "\",\"balance\":" + (i % 100_000) + "." + (i % 100)
+                        + ",\"accountType\":\"" + TYPES[(int) (i % 3)] + "\"}\n");
+            }
+        }
+        return file;
+    }
+    
+    private static String accountNumber(AccountNumberGenerator generator, long offset, long i) {
+        String iban = generator.generateAccountNumber(offset + i);
+        if (i % INVALID_EVERY == INVALID_EVERY - 1) {
+            char last = iban.charAt(iban.length() - 1);
+            return iban.substring(0, iban.length() - 1) + (last == '0' ? '1' : '0');
+        }
+        return iban;
+    }
+    
+    record Result(String name, long rows, long imported, long rejected, long serverRowsPerSecond,
+                  long endToEndRowsPerSecond) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.config.PrecomputedJsonConverter;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.dto.AmountRequest;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation d'une page de comptes et aller-retour d'une requête de dépôt (lecture du corps, écriture du compte),
+ * par le convertisseur JSON générique de Spring MVC sur les entités et par {@link PrecomputedJsonConverter}
+ * sur les DTO. L'allocation par requête s'obtient avec le profileur GC :
+ * <pre>
+ *   mvn -Pbenchmark verify -DskipTests -Djmh.includes=AccountJsonBenchmark -Djmh.options="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AccountJsonBenchmark {
+    
+    private static final ResolvableType ACCOUNT_LIST = ResolvableType.forClassWithGenerics(List.class, Account.class);
+    private static final ResolvableType RESPONSE_LIST = ResolvableType.forClassWithGenerics(List.class, AccountResponse.class);
+    private static final ResolvableType ACCOUNT = ResolvableType.forClass(Account.class);
+    private static final ResolvableType RESPONSE = ResolvableType.forClass(AccountResponse.class);
+    private static final ResolvableType AMOUNT_MAP = ResolvableType.forClassWithGenerics(Map.class, String.class, Money.class);
+    private static final ResolvableType AMOUNT_REQUEST = ResolvableType.forClass(AmountRequest.class);
+    private static final byte[] DEPOSIT_BODY = "{\"amount\": 1234.56}".getBytes();
+    
+    @Param({"100", "1000"})
+    public int size;
+    
+    private ConfigurableApplicationContext context;
+    private JacksonJsonHttpMessageConverter converter;
+    private PrecomputedJsonConverter precomputedConverter;
+    private List<Account> accounts;
+    private final HttpInputMessage input = new HttpInputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+        
+        {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(DEPOSIT_BODY);
+        }
+        
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    };
+    private final HttpOutputMessage output = new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+        
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+        
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    };
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        converter = new JacksonJsonHttpMessageConverter(context.getBean(JsonMapper.class));
+        precomputedConverter = context.getBean(PrecomputedJsonConverter.class);
+        
+        String[] numbers = new AccountNumberGenerator().generate(size);
+        accounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Account account = new Account();
+            account.setId((long) i + 1);
+            account.setAccountNumber(numbers[i]);
+            account.setAccountHolder("Titulaire " + i);
+            account.setBalance(Money.of("1234.56"));
+            account.setCreatedAt(LocalDateTime.now());
+            account.setUpdatedAt(LocalDateTime.now());
+            account.setVersion(0L);
+            accounts.add(account);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public HttpOutputMessage serializeAccountPage() throws IOException {
+        converter.write(accounts, ACCOUNT_LIST, MediaType.APPLICATION_JSON, output, null);
+        return output;
+    }
+    
+    @Benchmark
+    public HttpOutputMessage serializeAccountPagePrecomputed() throws IOException {
+        precomputedConverter.write(AccountResponse.from(accounts), RESPONSE_LIST, MediaType.APPLICATION_JSON, output, null);
+        return output;
+    }
+    
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public HttpOutputMessage depositRoundTrip() throws IOException {
+        Map<String, Money> request = (Map<String, Money>) converter.read(AMOUNT_MAP, input, null);
+        Account account = accounts.get(0);
+        account.setBalance(request.get("amount"));
+        converter.write(account, ACCOUNT, MediaType.APPLICATION_JSON, output, null);
+        return output;
+    }
+    
+    @Benchmark
+    public HttpOutputMessage depositRoundTripPrecomputed() throws IOException {
+        AmountRequest request = (AmountRequest) precomputedConverter.read(AMOUNT_REQUEST, input, null);
+        Account account = accounts.get(0);
+        account.setBalance(request.amount());
+        precomputedConverter.write(AccountResponse.from(account), RESPONSE, MediaType.APPLICATION_JSON, output, null);
+        return output;
+    }
+}
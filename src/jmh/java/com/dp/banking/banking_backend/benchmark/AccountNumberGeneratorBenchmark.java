@@ -0,0 +1,41 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AccountNumberGeneratorBenchmark {
+    
+    private final AccountNumberGenerator generator = new AccountNumberGenerator();
+    private final String iban = generator.generateAccountNumber();
+    
+    @Benchmark
+    public String generateAccountNumber() {
+        return generator.generateAccountNumber();
+    }
+    
+    @Benchmark
+    public String[] generateBulk1000() {
+        return generator.generate(1000);
+    }
+    
+    @Benchmark
+    public boolean isValidIban() {
+        return AccountNumberGenerator.isValidIban(iban);
+    }
+}
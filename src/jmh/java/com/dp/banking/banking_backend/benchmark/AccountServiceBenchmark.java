@@ -0,0 +1,75 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opérations du service de comptes sur H2 en mémoire, avec et sans cache de lecture
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AccountServiceBenchmark {
+    
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+    
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private Long accountId;
+    private String accountNumber;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("banking.cache.enabled=" + cacheEnabled);
+        accountService = context.getBean(AccountService.class);
+        
+        Account account = new Account();
+        account.setAccountHolder("Benchmark");
+        account.setBalance(Money.of("1000000000000.00"));
+        Account saved = accountService.save(account);
+        accountId = saved.getId();
+        accountNumber = saved.getAccountNumber();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Account deposit() {
+        return accountService.deposit(accountId, Money.of(1));
+    }
+    
+    @Benchmark
+    public Account withdraw() {
+        return accountService.withdraw(accountId, Money.of(1));
+    }
+    
+    @Benchmark
+    public Optional<Account> findByAccountNumber() {
+        return accountService.findByAccountNumber(accountNumber);
+    }
+}
@@ -0,0 +1,89 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.BankingBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Démarre l'application (sans serveur web par défaut) sur une base H2 en mémoire dédiée et sans journalisation SQL,
+ * sauf avec {@link #startWebWithLogging}
+ */
+final class BenchmarkContext {
+    
+    private BenchmarkContext() {
+    }
+    
+    /**
+     * Les propriétés sont passées en arguments de ligne de commande pour primer sur application.properties
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+    
+    /**
+     * Démarre l'application avec le serveur web sur un port libre (propriété {@code local.server.port})
+     */
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        String[] withPort = Arrays.copyOf(properties, properties.length + 1);
+        withPort[properties.length] = "server.port=0";
+        return start(WebApplicationType.SERVLET, true, withPort);
+    }
+    
+    /**
+     * Comme {@link #startWeb}, mais avec la journalisation (SQL comprise) du profil actif, pour en mesurer le coût
+     */
+    static ConfigurableApplicationContext startWebWithLogging(String... properties) {
+        String[] withPort = Arrays.copyOf(properties, properties.length + 1);
+        withPort[properties.length] = "server.port=0";
+        return start(WebApplicationType.SERVLET, false, withPort);
+    }
+    
+    /**
+     * Démarre l'application (sans serveur web) avec le profil prod, sur la base H2 fichier de {@code dataDir}
+     * (journaux dans {@code dataDir/logs})
+     */
+    static ConfigurableApplicationContext startPersistent(Path dataDir, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=prod",
+                "--banking.data-dir=" + dataDir,
+                "--logging.file.path=" + dataDir.resolve("logs")));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return run(WebApplicationType.NONE, args);
+    }
+    
+    private static ConfigurableApplicationContext start(WebApplicationType type, String... properties) {
+        return start(type, true, properties);
+    }
+    
+    private static ConfigurableApplicationContext start(WebApplicationType type, boolean quiet, String... properties) {
+        List<String> args = new ArrayList<>(List.of("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()));
+        if (quiet) {
+            args.addAll(List.of(
+                    "--spring.jpa.show-sql=false",
+                    "--spring.jpa.properties.hibernate.format_sql=false",
+                    "--logging.level.root=WARN"));
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return run(type, args);
+    }
+    
+    private static ConfigurableApplicationContext run(WebApplicationType type, List<String> args) {
+        // Le redémarrage de devtools doit être coupé avant le lancement, il ne lit pas les arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(BankingBackendApplication.class)
+                .web(type)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,111 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de POST /api/accounts/{id}/deposit selon la configuration de journalisation :
+ * profil par défaut (SQL formaté sur la sortie standard, INFO synchrone sur la console) ou profil prod
+ * (fichiers asynchrones, sans SQL, journal d'audit séparé). La sortie standard de l'application est redirigée
+ * vers un fichier, comme sous un superviseur de conteneur, et les fichiers de journaux sont écrits dans
+ * target/benchmark-logs :
+ * <pre>
+ *   mvn -Pbenchmark verify -DskipTests -Djmh.includes=DepositLoggingBenchmark -Djmh.options="-prof gc"
+ * </pre>
+ * (l'allocation par requête, {@code gc.alloc.rate.norm}, est moins bruitée que le débit sur une machine chargée)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class DepositLoggingBenchmark {
+    
+    private static final int ACCOUNTS = 100;
+    private static final Path LOG_DIRECTORY = Path.of("target", "benchmark-logs");
+    
+    @Param({"default", "prod"})
+    public String profile;
+    
+    private PrintStream originalOut;
+    private PrintStream redirectedOut;
+    private ConfigurableApplicationContext context;
+    private HttpClient http;
+    private HttpRequest[] deposits;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Files.createDirectories(LOG_DIRECTORY);
+        originalOut = System.out;
+        redirectedOut = new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(LOG_DIRECTORY.resolve(profile + "-stdout.log").toFile())), true);
+        System.setOut(redirectedOut);
+        
+        context = BenchmarkContext.startWebWithLogging(
+                "spring.profiles.active=" + profile,
+                "logging.file.path=" + LOG_DIRECTORY.toAbsolutePath(),
+                "banking.admission.enabled=false");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/accounts/";
+        AccountService accountService = context.getBean(AccountService.class);
+        deposits = new HttpRequest[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setAccountHolder("Benchmark " + i);
+            account.setBalance(Money.of("1000.00"));
+            deposits[i] = HttpRequest.newBuilder(URI.create(baseUrl + accountService.save(account).getId() + "/deposit"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 1.00}"))
+                    .build();
+        }
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        http.close();
+        context.close();
+        System.setOut(originalOut);
+        redirectedOut.close();
+    }
+    
+    @Benchmark
+    public int deposit() throws IOException, InterruptedException {
+        HttpRequest request = deposits[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Statut inattendu: " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,56 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.metrics.LatencyHistogram;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'un enregistrement de métrique sur le chemin critique (temps et octets alloués par opération) :
+ * <pre>
+ *   mvn -Pbenchmark verify -DskipTests -Djmh.includes=MetricsBenchmark -Djmh.options="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MetricsBenchmark {
+    
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final ServiceMetrics serviceMetrics = new ServiceMetrics();
+    
+    @Benchmark
+    public void recordHistogram() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void recordHistogramContended() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+    
+    @Benchmark
+    public void recordTimer() {
+        serviceMetrics.record(ServiceMetrics.Timer.DEPOSIT, System.nanoTime());
+    }
+    
+    @Benchmark
+    public void incrementCounter() {
+        serviceMetrics.increment(ServiceMetrics.Counter.INSUFFICIENT_FUNDS);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arithmétique des soldes en {@link BigDecimal} et en {@link Money}, sur le schéma du traitement par lot :
+ * lecture du montant, contrôle du solde, débit ou crédit. L'allocation par opération s'obtient avec le profileur GC :
+ * <pre>
+ *   mvn -Pbenchmark verify -DskipTests -Djmh.includes=MoneyBenchmark -Djmh.options="-prof gc"
+ * </pre>
+ * (métrique {@code gc.alloc.rate.norm}, en octets par opération)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MoneyBenchmark {
+    
+    private static final int ACCOUNTS = 100;
+    private static final int INSTRUCTIONS = 1000;
+    
+    private static final TypeReference<Map<String, BigDecimal>> AMOUNT_MAP = new TypeReference<>() {
+    };
+    
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    
+    private String[] amounts;
+    private int[] targets;
+    private boolean[] debits;
+    private BigDecimal[] decimalBalances;
+    private Money[] moneyBalances;
+    private byte[] requestJson;
+    
+    /**
+     * Corps de requête désérialisé directement en montant à virgule fixe
+     */
+    public record AmountRequest(Money amount) {
+    }
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new String[INSTRUCTIONS];
+        targets = new int[INSTRUCTIONS];
+        debits = new boolean[INSTRUCTIONS];
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            amounts[i] = random.nextInt(1, 50_000) + "." + String.format("%02d", random.nextInt(100));
+            targets[i] = random.nextInt(ACCOUNTS);
+            debits[i] = random.nextBoolean();
+        }
+        decimalBalances = new BigDecimal[ACCOUNTS];
+        moneyBalances = new Money[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            decimalBalances[i] = new BigDecimal("250000.00");
+            moneyBalances[i] = Money.of("250000.00");
+        }
+        requestJson = "{\"amount\": 1234.56}".getBytes();
+    }
+    
+    @Benchmark
+    public BigDecimal applyBatchBigDecimal() {
+        BigDecimal[] balances = decimalBalances.clone();
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            BigDecimal amount = new BigDecimal(amounts[i]);
+            BigDecimal balance = balances[targets[i]];
+            if (!debits[i]) {
+                balances[targets[i]] = balance.add(amount);
+            } else if (balance.compareTo(amount) >= 0) {
+                balances[targets[i]] = balance.subtract(amount);
+            }
+        }
+        return balances[0];
+    }
+    
+    @Benchmark
+    public Money applyBatchMoney() {
+        Money[] balances = moneyBalances.clone();
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            Money amount = Money.of(amounts[i]);
+            Money balance = balances[targets[i]];
+            if (!debits[i]) {
+                balances[targets[i]] = balance.plus(amount);
+            } else if (balance.compareTo(amount) >= 0) {
+                balances[targets[i]] = balance.minus(amount);
+            }
+        }
+        return balances[0];
+    }
+    
+    @Benchmark
+    public BigDecimal readRequestBigDecimal() {
+        return mapper.readValue(requestJson, AMOUNT_MAP).get("amount");
+    }
+    
+    @Benchmark
+    public Money readRequestMoney() {
+        return mapper.readValue(requestJson, AmountRequest.class).amount();
+    }
+    
+    @Benchmark
+    public String writeBigDecimal() {
+        return mapper.writeValueAsString(decimalBalances[0]);
+    }
+    
+    @Benchmark
+    public String writeMoney() {
+        return mapper.writeValueAsString(moneyBalances[0]);
+    }
+}
@@ -0,0 +1,259 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.service.AccountService;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Base H2 fichier du profil prod : débit d'écriture soutenu et reprise après redémarrage.
+ * <ol>
+ *   <li>Un processus enfant démarre l'application sur une base neuve et charge N comptes par lots JDBC.
+ *       Il enchaîne ensuite des dépôts sur des comptes tirés au hasard, et le débit est relevé seconde par seconde.</li>
+ *   <li>Après la durée donnée, l'enfant est tué (SIGKILL) en pleine écriture.</li>
+ *   <li>L'application redémarre sur la même base dans un nouveau processus. On mesure la durée de démarrage
+ *       (ouverture et reprise de la base, migrations, validation du schéma) et le premier dépôt, puis on
+ *       compte les comptes et les dépôts journalisés. Ce processus s'arrête proprement ; un second redémarrage
+ *       sert de référence.</li>
+ * </ol>
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec@persistence -Dpersistence.accounts=10000000 -Dpersistence.seconds=60
+ * </pre>
+ */
+public final class PersistentStoreBenchmark {
+    
+    private static final int LOAD_BATCH = 10_000;
+    private static final int WRITERS = 4;
+    private static final long ACCOUNT_PART_OFFSET = 50_000_000_000L;
+    private static final String INSERT_ACCOUNT = """
+            INSERT INTO accounts (account_number, account_holder, balance, account_type, is_active, created_at, version)
+            VALUES (?, ?, ?, 'CHECKING', TRUE, ?, 0)""";
+    
+    private PersistentStoreBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Path dataDir = Path.of(System.getProperty("persistence.dir", "target/persistence-bench")).toAbsolutePath();
+        if (args.length > 0 && args[0].equals("writer")) {
+            write(dataDir, Long.getLong("persistence.accounts", 10_000_000));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("restart")) {
+            restart(dataDir);
+            return;
+        }
+        
+        long accounts = Long.getLong("persistence.accounts", 10_000_000);
+        int seconds = Integer.getInteger("persistence.seconds", 60);
+        deleteRecursively(dataDir);
+        Files.createDirectories(dataDir);
+        
+        Process writer = spawn(dataDir, "writer", "-Dpersistence.accounts=" + accounts);
+        double loadRate = 0;
+        long acknowledged = 0;
+        List<Long> windows = new ArrayList<>();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(writer.getInputStream()))) {
+            String line;
+            while (windows.size() < seconds && (line = output.readLine()) != null) {
+                String[] fields = line.split(" ");
+                switch (fields[0]) {
+                    case "LOAD" -> {
+                        loadRate = Long.parseLong(fields[1]) * 1000.0 / Long.parseLong(fields[2]);
+                        System.out.printf("%d comptes chargés en %s ms (%.0f lignes/s)%n",
+                                Long.parseLong(fields[1]), fields[2], loadRate);
+                    }
+                    case "WINDOW" -> {
+                        windows.add(Long.parseLong(fields[1]));
+                        acknowledged = Long.parseLong(fields[2]);
+                    }
+                    default -> {
+                    }
+                }
+            }
+            writer.destroyForcibly();
+            writer.waitFor();
+        }
+        if (windows.size() < seconds) {
+            throw new IllegalStateException("Le processus d'écriture s'est arrêté avant la fin de la mesure (journaux dans "
+                    + dataDir.resolve("logs") + ")");
+        }
+        
+        Restart afterCrash = runRestart(dataDir);
+        Restart afterShutdown = runRestart(dataDir);
+        long[] sorted = windows.stream().mapToLong(Long::longValue).sorted().toArray();
+        Result result = new Result(accounts, loadRate, Arrays.stream(sorted).average().orElse(0),
+                sorted[0], sorted[sorted.length / 2], acknowledged, afterCrash, afterShutdown,
+                directorySize(dataDir) / (1024 * 1024));
+        
+        System.out.printf("%nDépôts soutenus (%d s, %d écrivains) : moyenne %.0f/s, min %d/s, médiane %d/s%n",
+                windows.size(), WRITERS, result.depositsPerSecond(), result.minDepositsPerSecond(), result.medianDepositsPerSecond());
+        System.out.printf("%-22s %12s %14s %14s %14s %12s%n", "redémarrage", "contexte ms", "JVM->prêt ms", "1er dépôt ms", "comptes", "arrêt ms");
+        for (Restart restart : List.of(afterCrash, afterShutdown)) {
+            System.out.printf("%-22s %12d %14d %14.1f %14d %12d%n", restart == afterCrash ? "après SIGKILL" : "après arrêt propre",
+                    restart.contextMillis(), restart.sinceJvmStartMillis(), restart.firstDepositMillis(), restart.accounts(),
+                    restart.closeMillis());
+        }
+        System.out.printf("Dépôts acquittés avant SIGKILL : %d, journalisés après reprise : %d ; base : %d Mo%n",
+                acknowledged, afterCrash.journaledDeposits(), result.databaseMegabytes());
+        String output = System.getProperty("persistence.output");
+        if (output != null) {
+            JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(new File(output), result);
+        }
+    }
+    
+    /**
+     * Processus enfant : chargement puis dépôts jusqu'à être tué ; une ligne {@code WINDOW <dépôts> <cumul>} par seconde
+     */
+    private static void write(Path dataDir, long accounts) throws InterruptedException {
+        ConfigurableApplicationContext context = BenchmarkContext.startPersistent(dataDir);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        AccountNumberGenerator generator = context.getBean(AccountNumberGenerator.class);
+        
+        long start = System.nanoTime();
+        BigDecimal balance = new BigDecimal("1000.00");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (long from = 0; from < accounts; from += LOAD_BATCH) {
+            List<Object[]> rows = new ArrayList<>(LOAD_BATCH);
+            for (long i = from; i < Math.min(from + LOAD_BATCH, accounts); i++) {
+                rows.add(new Object[]{generator.generateAccountNumber(ACCOUNT_PART_OFFSET + i), "Persistence " + i, balance, now});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ACCOUNT, rows));
+        }
+        System.out.println("LOAD " + accounts + " " + (System.nanoTime() - start) / 1_000_000);
+        
+        long[] range = jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM accounts",
+                (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        AccountService accountService = context.getBean(AccountService.class);
+        AtomicLong deposits = new AtomicLong();
+        for (int w = 0; w < WRITERS; w++) {
+            Thread.ofPlatform().daemon().start(() -> {
+                while (true) {
+                    long id = ThreadLocalRandom.current().nextLong(range[0], range[1] + 1);
+                    accountService.deposit(id, Money.of(1));
+                    deposits.incrementAndGet();
+                }
+            });
+        }
+        long previous = 0;
+        while (true) {
+            Thread.sleep(1000);
+            long total = deposits.get();
+            System.out.println("WINDOW " + (total - previous) + " " + total);
+            previous = total;
+        }
+    }
+    
+    /**
+     * Processus enfant : redémarrage sur la base existante puis arrêt propre
+     */
+    private static void restart(Path dataDir) {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = BenchmarkContext.startPersistent(dataDir);
+        long contextMillis = (System.nanoTime() - start) / 1_000_000;
+        long sinceJvmStart = System.currentTimeMillis() - jvmStart;
+        try {
+            measure(context, contextMillis, sinceJvmStart);
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+    }
+    
+    private static void measure(ConfigurableApplicationContext context, long contextMillis, long sinceJvmStart) {
+        long journaled = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM journal_entries", Long.class);
+        long depositStart = System.nanoTime();
+        context.getBean(AccountService.class).deposit(1L, Money.of(1));
+        double firstDeposit = (System.nanoTime() - depositStart) / 1e6;
+        long accounts = context.getBean(AccountRepository.class).count();
+        
+        long closeStart = System.nanoTime();
+        context.close();
+        System.out.println("RESTART " + contextMillis + " " + sinceJvmStart + " " + firstDeposit + " " + accounts + " "
+                + journaled + " " + (System.nanoTime() - closeStart) / 1_000_000);
+    }
+    
+    private static Restart runRestart(Path dataDir) throws IOException, InterruptedException {
+        Process process = spawn(dataDir, "restart");
+        Restart restart = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith("Exception") || line.startsWith("Caused by")) {
+                    System.out.println(line);
+                }
+                if (line.startsWith("RESTART ")) {
+                    String[] f = line.split(" ");
+                    restart = new Restart(Long.parseLong(f[1]), Long.parseLong(f[2]), Double.parseDouble(f[3]),
+                            Long.parseLong(f[4]), Long.parseLong(f[5]), Long.parseLong(f[6]));
+                }
+            }
+        }
+        if (process.waitFor() != 0 || restart == null) {
+            throw new IllegalStateException("Échec du redémarrage (journaux dans " + dataDir.resolve("logs") + ")");
+        }
+        return restart;
+    }
+    
+    private static Process spawn(Path dataDir, String mode, String... properties) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dpersistence.dir=" + dataDir));
+        command.addAll(List.of(properties));
+        command.addAll(List.of(PersistentStoreBenchmark.class.getName(), mode));
+        return new ProcessBuilder(command).redirectErrorStream(true).start();
+    }
+    
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+    
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    /**
+     * @param journaledDeposits mouvements présents dans le journal à la reprise (les dépôts des exécutions précédentes)
+     */
+    record Restart(long contextMillis, long sinceJvmStartMillis, double firstDepositMillis, long accounts,
+                   long journaledDeposits, long closeMillis) {
+    }
+    
+    record Result(long accounts, double loadRowsPerSecond, double depositsPerSecond, long minDepositsPerSecond,
+                  long medianDepositsPerSecond, long acknowledgedDeposits, Restart afterCrash, Restart afterShutdown,
+                  long databaseMegabytes) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Démarrage de l'application packagée (profil prod, base H2 fichier déjà migrée) : temps entre le lancement
+ * de la JVM et la première requête HTTP servie, puis mémoire résidente (VmRSS) à cet instant.
+ * Quatre configurations, de la plus lente attendue à la plus rapide :
+ * <ul>
+ *   <li>{@code avant} : JIT seul, données de test vérifiées à chaque démarrage (comportement précédent) ;</li>
+ *   <li>{@code sans-seed} : chargement des données de test désactivé ({@code banking.seed.enabled=false}) ;</li>
+ *   <li>{@code aot} : contexte pré-calculé par Spring AOT ({@code -Dspring.aot.enabled=true}) ;</li>
+ *   <li>{@code aot+cds} : avec en plus l'archive CDS produite au packaging.</li>
+ * </ul>
+ * Chaque configuration a sa propre base ; un premier démarrage non mesuré la crée. Le jar et l'archive
+ * viennent de {@code mvn -Pstartup package} ; la JVM lancée est celle qui exécute ce programme, l'archive
+ * CDS n'étant valable que pour le JDK qui l'a produite.
+ * <pre>
+ *   mvn -Pstartup,benchmark package exec:exec@startup -DskipTests -Dstartup.runs=5
+ * </pre>
+ */
+public final class StartupBenchmark {
+    
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    
+    private StartupBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(System.getProperty("startup.directory", "target/startup")).toAbsolutePath();
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path jar;
+        try (var files = Files.list(directory)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Aucun jar dans " + directory + " (mvn -Pstartup package)"));
+        }
+        Path archive = directory.resolve("application.jsa");
+        
+        List<Variant> variants = List.of(
+                new Variant("avant", List.of(), List.of("--banking.seed.enabled=true")),
+                new Variant("sans-seed", List.of(), List.of()),
+                new Variant("aot", List.of("-Dspring.aot.enabled=true"), List.of()),
+                new Variant("aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive), List.of()));
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        List<Result> results = new ArrayList<>();
+        for (Variant variant : variants) {
+            Path dataDir = directory.resolve("bench-data").resolve(variant.name().replace('+', '-'));
+            start(client, jar, variant, dataDir);
+            long[] readyMillis = new long[runs];
+            long[] rssKilobytes = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Measure measure = start(client, jar, variant, dataDir);
+                readyMillis[run] = measure.readyMillis();
+                rssKilobytes[run] = measure.rssKilobytes();
+            }
+            Arrays.sort(readyMillis);
+            Arrays.sort(rssKilobytes);
+            Result result = new Result(variant.name(), runs, readyMillis[runs / 2], readyMillis[0],
+                    rssKilobytes[runs / 2] / 1024);
+            results.add(result);
+            System.out.printf("%-10s prêt en %6d ms (médiane, min %6d ms), RSS %4d Mo%n", result.variant(),
+                    result.medianReadyMillis(), result.minReadyMillis(), result.medianRssMegabytes());
+        }
+        
+        System.out.printf("%n%-10s %14s %12s %10s%n", "démarrage", "prêt ms", "min ms", "RSS Mo");
+        for (Result result : results) {
+            System.out.printf("%-10s %14d %12d %10d%n", result.variant(), result.medianReadyMillis(),
+                    result.minReadyMillis(), result.medianRssMegabytes());
+        }
+        String output = System.getProperty("startup.output");
+        if (output != null) {
+            JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(new File(output), results);
+        }
+    }
+    
+    /**
+     * Lance l'application, attend la première réponse de /api/metrics, relève VmRSS puis l'arrête proprement
+     */
+    private static Measure start(HttpClient client, Path jar, Variant variant, Path dataDir) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(variant.jvmArguments());
+        command.addAll(List.of("-jar", jar.toString(),
+                "--spring.profiles.active=prod",
+                "--server.port=" + port,
+                "--banking.data-dir=" + dataDir,
+                "--logging.file.path=" + dataDir.resolve("logs")));
+        command.addAll(variant.arguments());
+        
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/metrics"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("L'application s'est arrêtée au démarrage (" + variant.name()
+                            + ", journaux dans " + dataDir.resolve("logs") + ")");
+                }
+                if (System.nanoTime() - start > READY_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Application non prête après " + READY_TIMEOUT + " (" + variant.name() + ")");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // port pas encore ouvert
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            long readyMillis = (System.nanoTime() - start) / 1_000_000;
+            return new Measure(readyMillis, rss(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+    
+    private static long rss(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IllegalStateException("VmRSS introuvable pour le processus " + pid);
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+    
+    record Variant(String name, List<String> jvmArguments, List<String> arguments) {
+    }
+    
+    record Measure(long readyMillis, long rssKilobytes) {
+    }
+    
+    record Result(String variant, int runs, long medianReadyMillis, long minReadyMillis, long medianRssMegabytes) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.dp.banking.banking_backend.benchmark;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test de charge HTTP comparant les threads plateforme (pool Tomcat) et les threads virtuels.
+ * Pour chaque mode, l'application est démarrée avec le cache désactivé (chaque lecture passe par JPA/JDBC),
+ * puis N clients simultanés (1 000 à 10 000 connexions) enchaînent lectures et dépôts pendant la durée donnée.
+ * Le débit et les latences p50/p99/p99.9 sont affichés et écrits en JSON.
+ * Avec -Dloadtest.admission=true, le contrôle d'admission est actif (chaque client s'identifie par X-Client-Id) :
+ * les requêtes refusées (429/503) sont comptées à part, exclues du débit et des latences, et le client
+ * patiente le délai indiqué par Retry-After avant de reprendre.
+ * Lancé avec -Djdk.tracePinnedThreads=short pour signaler tout épinglage de thread virtuel.
+ */
+public final class VirtualThreadLoadTest {
+    
+    private static final int ACCOUNTS = 100;
+    private static final String CLIENT_HEADER = "X-Client-Id";
+    
+    private VirtualThreadLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("loadtest.concurrency", "1000,5000,10000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+        boolean admission = Boolean.getBoolean("loadtest.admission");
+        List<Result> results = new ArrayList<>();
+        
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = BenchmarkContext.startWeb(
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "banking.cache.enabled=false",
+                    "banking.admission.enabled=" + admission,
+                    "banking.admission.client-header=" + CLIENT_HEADER,
+                    "server.tomcat.max-connections=20000",
+                    "server.tomcat.accept-count=10000")) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/accounts/";
+                long[] accountIds = createAccounts(context.getBean(AccountService.class));
+                for (int level : levels) {
+                    Result result = run(virtual ? "virtual" : "platform", level, duration, baseUrl, accountIds);
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+        }
+        
+        System.out.printf("%n%-9s %8s %12s %10s %10s %10s %8s %9s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors", "rejected");
+        for (Result r : results) {
+            System.out.printf("%-9s %8d %12.0f %10.2f %10.2f %10.2f %8d %9d%n",
+                    r.mode(), r.clients(), r.throughput(), r.p50Millis(), r.p99Millis(), r.p999Millis(), r.errors(), r.rejected());
+        }
+        String output = System.getProperty("loadtest.output");
+        if (output != null) {
+            JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(new File(output), results);
+        }
+    }
+    
+    private static long[] createAccounts(AccountService accountService) {
+        long[] ids = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setAccountHolder("Load Test " + i);
+            account.setBalance(Money.of("1000.00"));
+            ids[i] = accountService.save(account).getId();
+        }
+        return ids;
+    }
+    
+    private static Result run(String mode, int clients, Duration duration, String baseUrl, long[] accountIds)
+            throws InterruptedException {
+        AtomicLong errors = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            long deadline = System.nanoTime() + duration.toNanos();
+            long start = System.nanoTime();
+            
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.submit(() -> {
+                    long[] samples = new long[256];
+                    int count = 0;
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            long accountId = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+                            HttpRequest request = count % 10 == 9
+                                    ? HttpRequest.newBuilder(URI.create(baseUrl + accountId + "/deposit"))
+                                            .header("Content-Type", "application/json")
+                                            .header(CLIENT_HEADER, "client-" + client)
+                                            .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 1.00}"))
+                                            .timeout(Duration.ofSeconds(60))
+                                            .build()
+                                    : HttpRequest.newBuilder(URI.create(baseUrl + accountId))
+                                            .header(CLIENT_HEADER, "client-" + client)
+                                            .timeout(Duration.ofSeconds(60))
+                                            .build();
+                            long begin = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() == 429 || response.statusCode() == 503) {
+                                    rejected.incrementAndGet();
+                                    long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                                    Thread.sleep(Duration.ofSeconds(retryAfter));
+                                    continue;
+                                }
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = System.nanoTime() - begin;
+                        }
+                    } finally {
+                        latencies[client] = samples;
+                        counts[client] = count;
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            long elapsed = System.nanoTime() - start;
+            
+            long total = Arrays.stream(counts).asLongStream().sum();
+            long[] all = new long[(int) total];
+            int offset = 0;
+            for (int c = 0; c < clients; c++) {
+                System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+                offset += counts[c];
+            }
+            Arrays.sort(all);
+            return new Result(mode, clients, total * 1e9 / elapsed,
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), errors.get(), rejected.get());
+        }
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * quantile) - 1)] / 1e6;
+    }
+    
+    record Result(String mode, int clients, double throughput, double p50Millis, double p99Millis,
+                  double p999Millis, long errors, long rejected) {
+    }
+}
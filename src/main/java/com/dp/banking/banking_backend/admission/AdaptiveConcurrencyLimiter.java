@@ -0,0 +1,102 @@
+package com.dp.banking.banking_backend.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite adaptative du nombre de requêtes simultanées (augmentation additive, diminution multiplicative).
+ * La latence lissée des requêtes terminées est comparée à la latence à vide (minimum observé sur une fenêtre) :
+ * tant qu'elle reste sous {@code tolerance} fois ce minimum, la limite croît d'une unité lorsque la charge
+ * l'approche ; au-delà, une file se forme en aval (pool de connexions JDBC) et la limite est réduite,
+ * au plus une fois par intervalle. Les requêtes au-delà de la limite sont refusées immédiatement
+ * plutôt que d'allonger la file. Tout l'état est atomique, sans verrou.
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int SMOOTHING_SHIFT = 4;
+    private static final long MIN_RTT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long minThresholdNanos;
+    
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong smoothedRtt = new AtomicLong();
+    private final AtomicLong minRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong minRttWindowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime() - DECREASE_INTERVAL_NANOS);
+    
+    /**
+     * @param minThresholdMs latence en deçà de laquelle la limite n'est jamais réduite
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, long minThresholdMs) {
+        if (minLimit < 1 || minLimit > maxLimit || tolerance <= 1) {
+            throw new IllegalArgumentException("Paramètres de limite de concurrence invalides");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.minThresholdNanos = TimeUnit.MILLISECONDS.toNanos(minThresholdMs);
+        this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+    }
+    
+    /**
+     * @return {@code true} si la requête est admise ; elle doit alors être suivie d'un appel à {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Fin d'une requête admise, avec sa durée
+     */
+    public void release(long rttNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        onSample(rttNanos, concurrent, System.nanoTime());
+    }
+    
+    public int limit() {
+        return limit.get();
+    }
+    
+    public int inFlight() {
+        return inFlight.get();
+    }
+    
+    void onSample(long rttNanos, int concurrent, long now) {
+        long baseline = updateMinRtt(rttNanos, now);
+        long smoothed = smoothedRtt.accumulateAndGet(rttNanos,
+                (current, sample) -> current == 0 ? sample : current + ((sample - current) >> SMOOTHING_SHIFT));
+        
+        if (smoothed > minThresholdNanos && smoothed > baseline * tolerance) {
+            long last = lastDecrease.get();
+            if (now - last >= DECREASE_INTERVAL_NANOS && lastDecrease.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * BACKOFF_RATIO)));
+            }
+        } else if (concurrent * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+    
+    /**
+     * Minimum des latences de la fenêtre courante ; une nouvelle fenêtre repart du premier échantillon
+     * afin de suivre une évolution durable de la latence à vide
+     */
+    private long updateMinRtt(long rttNanos, long now) {
+        long windowStart = minRttWindowStart.get();
+        if (now - windowStart >= MIN_RTT_WINDOW_NANOS && minRttWindowStart.compareAndSet(windowStart, now)) {
+            minRtt.set(rttNanos);
+            return rttNanos;
+        }
+        return minRtt.accumulateAndGet(rttNanos, Math::min);
+    }
+}
@@ -0,0 +1,114 @@
+package com.dp.banking.banking_backend.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contrôle d'admission des requêtes {@code /api/**}, avant tout contrôleur :
+ * <ol>
+ *   <li>seau à jetons par client ({@link TokenBucketLimiter}) : un client trop rapide reçoit 429 ;</li>
+ *   <li>limite de concurrence adaptative ({@link AdaptiveConcurrencyLimiter}) : lorsque la latence dérive,
+ *       l'excédent reçoit 503 immédiatement au lieu de s'accumuler devant le pool de connexions.</li>
+ * </ol>
+ * Les deux réponses portent un en-tête {@code Retry-After}. Le client est identifié par l'en-tête configuré
+ * (à réserver à un en-tête posé par une passerelle de confiance), à défaut par l'adresse distante.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    
+    private static final String API_PREFIX = "/api/";
+    
+    private final boolean enabled;
+    private final String clientHeader;
+    private final TokenBucketLimiter tokenBuckets;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    
+    public record Stats(long admitted, long throttled, long shed, int concurrencyLimit, int inFlight, long trackedClients) {
+    }
+    
+    public AdmissionControlFilter(@Value("${banking.admission.enabled:true}") boolean enabled,
+                                  @Value("${banking.admission.client-header:}") String clientHeader,
+                                  @Value("${banking.admission.rate-per-second:200}") double ratePerSecond,
+                                  @Value("${banking.admission.burst:400}") int burst,
+                                  @Value("${banking.admission.max-clients:100000}") long maxClients,
+                                  @Value("${banking.admission.concurrency.initial-limit:50}") int initialLimit,
+                                  @Value("${banking.admission.concurrency.min-limit:8}") int minLimit,
+                                  @Value("${banking.admission.concurrency.max-limit:500}") int maxLimit,
+                                  @Value("${banking.admission.concurrency.latency-tolerance:2.0}") double tolerance,
+                                  @Value("${banking.admission.concurrency.min-latency-threshold-ms:10}") long minThresholdMs) {
+        this.enabled = enabled;
+        this.clientHeader = clientHeader.isBlank() ? null : clientHeader;
+        this.tokenBuckets = new TokenBucketLimiter(ratePerSecond, burst, maxClients);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, minThresholdMs);
+    }
+    
+    public Stats stats() {
+        return new Stats(admitted.sum(), throttled.sum(), shed.sum(),
+                concurrencyLimiter.limit(), concurrencyLimiter.inFlight(), tokenBuckets.trackedClients());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientId(request);
+        long waitNanos = tokenBuckets.tryAcquire(client);
+        if (waitNanos > 0) {
+            throttled.increment();
+            log.debug("Requête du client {} limitée ({} ms avant le prochain jeton)", client, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            log.debug("Requête délestée : limite de concurrence {} atteinte", concurrencyLimiter.limit());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        admitted.increment();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+    
+    private String clientId(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+    
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.dp.banking.banking_backend.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons par client, sans verrou ni allocation par requête.
+ * L'état d'un client tient dans un seul {@link AtomicLong} : l'instant théorique auquel son seau
+ * sera de nouveau plein (algorithme GCRA). Une requête avance cet instant d'un intervalle d'émission
+ * par compare-and-set, et elle est refusée s'il dépasse l'instant courant de plus de {@code burst} intervalles.
+ * Les clients inactifs sont oubliés une fois leur seau rempli ; leur nombre est borné.
+ */
+public class TokenBucketLimiter {
+    
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    
+    public TokenBucketLimiter(double ratePerSecond, int burst, long maxClients) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Le débit et la rafale doivent être positifs");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(burstNanos, TimeUnit.MINUTES.toNanos(1))))
+                .build();
+    }
+    
+    /**
+     * @return 0 si la requête est admise, sinon le délai en nanosecondes avant le prochain jeton disponible
+     */
+    public long tryAcquire(String client) {
+        return tryAcquire(buckets.get(client, TokenBucketLimiter::newBucket), System.nanoTime());
+    }
+    
+    public long trackedClients() {
+        return buckets.estimatedSize();
+    }
+    
+    long tryAcquire(AtomicLong bucket, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + emissionIntervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    static AtomicLong newBucket(String client) {
+        return new AtomicLong(System.nanoTime());
+    }
+}
@@ -0,0 +1,49 @@
+package com.dp.banking.banking_backend.audit;
+
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Journal d'audit des mouvements de fonds : une ligne JSON par {@link BankingOperationEvent} validé,
+ * écrite sur le logger {@value #LOGGER}, distinct des journaux applicatifs (fichier dédié en profil prod,
+ * voir logback-spring.xml). Ce journal se coupe par son niveau ({@code logging.level.banking.audit=OFF}).
+ * La ligne est construite dans un seul tampon dimensionné d'avance, sans tableau d'arguments ni formatage
+ * différé. Les montants y sont écrits sans chaîne intermédiaire. Les numéros de compte (IBAN validés)
+ * sont écrits sans échappement.
+ */
+@Component
+@Slf4j(topic = AuditLog.LOGGER)
+public class AuditLog {
+    
+    public static final String LOGGER = "banking.audit";
+    private static final int LINE_CAPACITY = 224;
+    
+    /**
+     * Journalise chaque mouvement une fois sa transaction validée ; un mouvement annulé n'apparaît jamais.
+     * Un événement publié hors transaction est journalisé aussitôt.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBankingOperation(BankingOperationEvent event) {
+        if (log.isInfoEnabled()) {
+            log.info(format(event));
+        }
+    }
+    
+    static String format(BankingOperationEvent event) {
+        StringBuilder line = new StringBuilder(LINE_CAPACITY)
+                .append("{\"occurredAt\":\"").append(event.occurredAt())
+                .append("\",\"type\":\"").append(event.type().name())
+                .append("\",\"accountId\":").append(event.accountId().longValue())
+                .append(",\"accountNumber\":\"").append(event.accountNumber())
+                .append("\",\"amount\":");
+        event.amount().appendTo(line).append(",\"balanceAfter\":");
+        event.balanceAfter().appendTo(line);
+        if (event.counterpartyAccountId() != null) {
+            line.append(",\"counterpartyAccountId\":").append(event.counterpartyAccountId().longValue());
+        }
+        return line.append('}').toString();
+    }
+}
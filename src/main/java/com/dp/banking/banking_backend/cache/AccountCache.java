@@ -0,0 +1,182 @@
+package com.dp.banking.banking_backend.cache;
+
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.model.Account;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache local en lecture (read-through) des comptes, indexé par ID et par numéro de compte.
+ * Borné en taille et en durée de vie. Les écritures y sont reportées après commit (write-through)
+ * et une version plus ancienne ne remplace jamais une version plus récente, ce qui empêche une lecture
+ * concurrente tardive d'écraser l'état produit par une écriture.
+ * Chaque éviction laisse une pierre tombale datée : une lecture dont le chargement a commencé avant
+ * l'éviction ne remet pas en cache la ligne qu'elle a lue (compte supprimé entre-temps, par exemple).
+ * Le cache conserve une copie immuable ({@link AccountResponse}) de chaque compte et rend à chaque lecture
+ * une nouvelle entité détachée : un appelant qui la modifie n'affecte ni le cache ni les autres appelants.
+ */
+@Component
+public class AccountCache {
+    
+    private final boolean enabled;
+    private final Cache<Long, AccountResponse> byId;
+    private final Cache<String, Long> idByNumber;
+    
+    /**
+     * Numéro de l'éviction la plus récente de chaque compte, comparé à celui relevé avant un chargement
+     */
+    private final Cache<Long, Long> tombstones;
+    private final AtomicLong evictions = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public AccountCache(@Value("${banking.cache.enabled:true}") boolean enabled,
+                        @Value("${banking.cache.maximum-size:100000}") long maximumSize,
+                        @Value("${banking.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idByNumber = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.tombstones = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+    
+    public Optional<Account> getById(Long id, Function<Long, Optional<Account>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        AccountResponse cached = byId.getIfPresent(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(toAccount(cached));
+        }
+        misses.increment();
+        long seen = evictions.get();
+        Optional<Account> loaded = loader.apply(id);
+        loaded.ifPresent(account -> putLoaded(account, seen));
+        return loaded;
+    }
+    
+    public Optional<Account> getByAccountNumber(String accountNumber, Function<String, Optional<Account>> loader) {
+        if (!enabled) {
+            return loader.apply(accountNumber);
+        }
+        Long id = idByNumber.getIfPresent(accountNumber);
+        AccountResponse cached = id != null ? byId.getIfPresent(id) : null;
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(toAccount(cached));
+        }
+        misses.increment();
+        long seen = evictions.get();
+        Optional<Account> loaded = loader.apply(accountNumber);
+        loaded.ifPresent(account -> putLoaded(account, seen));
+        return loaded;
+    }
+    
+    /**
+     * Insère une copie du compte, sauf si le cache contient déjà une version plus récente
+     */
+    public void put(Account account) {
+        if (!enabled || account.getId() == null) {
+            return;
+        }
+        byId.asMap().merge(account.getId(), AccountResponse.from(account),
+                (current, candidate) -> versionOf(candidate) > versionOf(current) ? candidate : current);
+        idByNumber.put(account.getAccountNumber(), account.getId());
+    }
+    
+    public void evict(Long id) {
+        AccountResponse[] removed = new AccountResponse[1];
+        byId.asMap().compute(id, (key, current) -> {
+            tombstones.put(key, evictions.incrementAndGet());
+            removed[0] = current;
+            return null;
+        });
+        if (removed[0] != null) {
+            idByNumber.invalidate(removed[0].accountNumber());
+        }
+    }
+    
+    /**
+     * Met à jour le cache une fois la transaction courante validée (immédiatement s'il n'y en a pas),
+     * pour ne jamais exposer un état qui pourrait être annulé.
+     */
+    public void putAfterCommit(Account account) {
+        afterCommit(() -> put(account));
+    }
+    
+    public void evictAfterCommit(Long id) {
+        afterCommit(() -> evict(id));
+    }
+    
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), byId.stats().evictionCount(), byId.estimatedSize());
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    /**
+     * Insère une ligne chargée depuis la base, sauf si le compte a été évincé depuis le début du chargement
+     * ({@code seen}) ; le contrôle et l'éviction sont sérialisés sur la clé.
+     */
+    private void putLoaded(Account account, long seen) {
+        AccountResponse candidate = AccountResponse.from(account);
+        boolean[] stored = new boolean[1];
+        byId.asMap().compute(account.getId(), (key, current) -> {
+            Long evictedAt = tombstones.getIfPresent(key);
+            if (evictedAt != null && evictedAt > seen) {
+                return current;
+            }
+            stored[0] = true;
+            return current == null || versionOf(candidate) > versionOf(current) ? candidate : current;
+        });
+        if (stored[0]) {
+            idByNumber.put(account.getAccountNumber(), account.getId());
+        }
+    }
+    
+    private static long versionOf(AccountResponse account) {
+        return account.version() != null ? account.version() : -1L;
+    }
+    
+    private static Account toAccount(AccountResponse cached) {
+        return new Account(cached.id(), cached.accountNumber(), cached.accountHolder(), cached.balance(),
+                cached.accountType(), cached.createdAt(), cached.updatedAt(), cached.isActive(), cached.version());
+    }
+    
+    public record Stats(long hits, long misses, long evictions, long size) {
+    }
+}
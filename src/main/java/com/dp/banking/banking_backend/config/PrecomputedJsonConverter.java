@@ -0,0 +1,130 @@
+package com.dp.banking.banking_backend.config;
+
+import com.dp.banking.banking_backend.dto.AccountRequest;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.dto.AmountRequest;
+import com.dp.banking.banking_backend.dto.BatchInstruction;
+import com.dp.banking.banking_backend.dto.BatchResult;
+import com.dp.banking.banking_backend.dto.TransferRequest;
+import com.dp.banking.banking_backend.dto.TransferResult;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convertisseur JSON des DTO de l'API des comptes.
+ * Les {@link ObjectReader}/{@link ObjectWriter} de chaque type (et de leurs listes) sont résolus une seule fois
+ * au démarrage ; chaque requête lit et écrit directement sur le flux HTTP, sans arbre intermédiaire
+ * ni résolution de type. Les autres types restent servis par le convertisseur Jackson par défaut.
+ */
+@Component
+public class PrecomputedJsonConverter extends AbstractSmartHttpMessageConverter<Object> {
+    
+    private static final List<Class<?>> READ_TYPES = List.of(
+            AccountRequest.class, AmountRequest.class, TransferRequest.class, BatchInstruction.class);
+    private static final List<Class<?>> WRITE_TYPES = List.of(
+            AccountResponse.class, TransferResult.class, BatchResult.class);
+    
+    private final Map<Class<?>, ObjectReader> readers;
+    private final Map<Class<?>, ObjectReader> listReaders;
+    private final Map<Class<?>, ObjectWriter> writers;
+    private final Map<Class<?>, ObjectWriter> listWriters;
+    
+    public PrecomputedJsonConverter(JsonMapper jsonMapper) {
+        super(MediaType.APPLICATION_JSON);
+        Map<Class<?>, ObjectReader> readers = new HashMap<>();
+        Map<Class<?>, ObjectReader> listReaders = new HashMap<>();
+        for (Class<?> type : READ_TYPES) {
+            readers.put(type, jsonMapper.readerFor(type));
+            listReaders.put(type, jsonMapper.readerFor(jsonMapper.getTypeFactory().constructCollectionType(List.class, type)));
+        }
+        Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+        Map<Class<?>, ObjectWriter> listWriters = new HashMap<>();
+        for (Class<?> type : WRITE_TYPES) {
+            writers.put(type, jsonMapper.writerFor(type));
+            listWriters.put(type, jsonMapper.writerFor(jsonMapper.getTypeFactory().constructCollectionType(List.class, type)));
+        }
+        this.readers = Map.copyOf(readers);
+        this.listReaders = Map.copyOf(listReaders);
+        this.writers = Map.copyOf(writers);
+        this.listWriters = Map.copyOf(listWriters);
+    }
+    
+    /**
+     * Écrivain précalculé d'un type pris en charge (utilisable hors Spring MVC, par exemple pour un export en flux)
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            throw new IllegalArgumentException("Type non pris en charge: " + type.getName());
+        }
+        return writer;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return readers.containsKey(clazz) || writers.containsKey(clazz);
+    }
+    
+    @Override
+    public boolean canRead(ResolvableType type, MediaType mediaType) {
+        return reader(type) != null && canRead(mediaType);
+    }
+    
+    @Override
+    public boolean canWrite(ResolvableType type, Class<?> valueClass, MediaType mediaType) {
+        return writer(type) != null && canWrite(mediaType);
+    }
+    
+    @Override
+    public Object read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints) throws IOException {
+        try {
+            return reader(type).readValue(inputMessage.getBody());
+        } catch (JacksonException e) {
+            throw new HttpMessageNotReadableException("JSON invalide: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+    
+    @Override
+    protected void writeInternal(Object value, ResolvableType type, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        ObjectWriter writer = writer(type);
+        if (writer == null) {
+            writer = writer(ResolvableType.forInstance(value));
+        }
+        try {
+            writer.writeValue(outputMessage.getBody(), value);
+        } catch (JacksonException e) {
+            throw new HttpMessageNotWritableException("Échec de l'écriture JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+    
+    @Override
+    protected boolean supportsRepeatableWrites(Object value) {
+        return true;
+    }
+    
+    private ObjectReader reader(ResolvableType type) {
+        Class<?> raw = type.toClass();
+        return raw == List.class ? listReaders.get(type.getGeneric(0).toClass()) : readers.get(raw);
+    }
+    
+    private ObjectWriter writer(ResolvableType type) {
+        Class<?> raw = type.toClass();
+        return raw == List.class ? listWriters.get(type.getGeneric(0).toClass()) : writers.get(raw);
+    }
+}
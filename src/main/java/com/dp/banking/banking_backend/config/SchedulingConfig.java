@@ -0,0 +1,12 @@
+package com.dp.banking.banking_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (instantanés des soldes)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
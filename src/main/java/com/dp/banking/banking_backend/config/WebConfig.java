@@ -0,0 +1,21 @@
+package com.dp.banking.banking_backend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Le convertisseur des DTO de l'API est placé avant le convertisseur Jackson générique
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final PrecomputedJsonConverter precomputedJsonConverter;
+    
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(precomputedJsonConverter);
+    }
+}
@@ -1,7 +1,34 @@
 package com.dp.banking.banking_backend.controller;
 
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.config.PrecomputedJsonConverter;
+import com.dp.banking.banking_backend.dto.AccountRequest;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.dto.AmountRequest;
+import com.dp.banking.banking_backend.dto.BatchInstruction;
+import com.dp.banking.banking_backend.dto.BatchResult;
+import com.dp.banking.banking_backend.dto.ImportReport;
+import com.dp.banking.banking_backend.dto.InterestRunReport;
+import com.dp.banking.banking_backend.dto.JournalEntryResponse;
+import com.dp.banking.banking_backend.dto.PointInTimeBalance;
+import com.dp.banking.banking_backend.dto.TransferRequest;
+import com.dp.banking.banking_backend.dto.TransferResult;
+import com.dp.banking.banking_backend.idempotency.IdempotencyConflictException;
+import com.dp.banking.banking_backend.idempotency.IdempotencyKeyReusedException;
+import com.dp.banking.banking_backend.idempotency.IdempotencyStore;
+import com.dp.banking.banking_backend.importer.AccountImportService;
+import com.dp.banking.banking_backend.importer.ImportAlreadyRunningException;
+import com.dp.banking.banking_backend.importer.ImportFailedException;
+import com.dp.banking.banking_backend.importer.ImportFormat;
+import com.dp.banking.banking_backend.journal.TransactionJournal;
 import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.JournalEntry;
 import com.dp.banking.banking_backend.service.AccountService;
+import com.dp.banking.banking_backend.service.BatchTransactionService;
+import com.dp.banking.banking_backend.service.InterestAlreadyAppliedException;
+import com.dp.banking.banking_backend.service.InterestAccrualService;
+import com.dp.banking.banking_backend.service.InterestRunInProgressException;
+import com.dp.banking.banking_backend.snapshot.BalanceSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,13 +36,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
 
-import java.math.BigDecimal;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -24,22 +59,63 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class AccountController {
     
+    public static final String NEXT_CURSOR_HEADER = "X-Next-After";
+    public static final String PREVIOUS_CURSOR_HEADER = "X-Next-Before";
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     private final AccountService accountService;
+    private final BatchTransactionService batchTransactionService;
+    private final TransactionJournal transactionJournal;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final InterestAccrualService interestAccrualService;
+    private final PrecomputedJsonConverter jsonConverter;
+    private final IdempotencyStore idempotencyStore;
+    private final AccountImportService accountImportService;
     
     @GetMapping
-    @Operation(summary = "Récupérer tous les comptes", description = "Retourne la liste de tous les comptes")
-    @ApiResponse(responseCode = "200", description = "Liste des comptes récupérée avec succès")
-    public ResponseEntity<List<Account>> getAllAccounts() {
-        List<Account> accounts = accountService.findAll();
-        return ResponseEntity.ok(accounts);
+    @Operation(summary = "Récupérer les comptes", description = "Retourne une page de comptes triés par ID ; l'en-tête X-Next-After donne le curseur de la page suivante")
+    @ApiResponse(responseCode = "200", description = "Page de comptes récupérée avec succès")
+    public ResponseEntity<List<AccountResponse>> getAllAccounts(
+            @Parameter(description = "ID du dernier compte de la page précédente") @RequestParam(required = false) Long after,
+            @Parameter(description = "Taille de la page (1 à 1000)") @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return page(accountService.findPage(after, pageSize), pageSize);
     }
     
     @GetMapping("/active")
-    @Operation(summary = "Récupérer les comptes actifs", description = "Retourne la liste des comptes actifs")
-    @ApiResponse(responseCode = "200", description = "Liste des comptes actifs récupérée avec succès")
-    public ResponseEntity<List<Account>> getActiveAccounts() {
-        List<Account> accounts = accountService.findActiveAccounts();
-        return ResponseEntity.ok(accounts);
+    @Operation(summary = "Récupérer les comptes actifs", description = "Retourne une page de comptes actifs triés par ID ; l'en-tête X-Next-After donne le curseur de la page suivante")
+    @ApiResponse(responseCode = "200", description = "Page de comptes actifs récupérée avec succès")
+    public ResponseEntity<List<AccountResponse>> getActiveAccounts(
+            @Parameter(description = "ID du dernier compte de la page précédente") @RequestParam(required = false) Long after,
+            @Parameter(description = "Taille de la page (1 à 1000)") @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return page(accountService.findActivePage(after, pageSize), pageSize);
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Exporter les comptes", description = "Exporte tous les comptes au format NDJSON (un compte par ligne), écrit au fil de la lecture")
+    @ApiResponse(responseCode = "200", description = "Export en cours de transmission")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(
+            @Parameter(description = "Exporter uniquement les comptes actifs") @RequestParam(defaultValue = "false") boolean activeOnly) {
+        ObjectWriter writer = jsonConverter.writerFor(AccountResponse.class).withRootValueSeparator("\n");
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter sequence = writer.writeValues(out)) {
+                accountService.streamAccounts(activeOnly, account -> sequence.write(AccountResponse.from(account)));
+                sequence.flush();
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+    
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Statistiques du cache des comptes", description = "Retourne les compteurs de succès, d'échecs et d'évictions du cache")
+    @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès")
+    public ResponseEntity<AccountCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(accountService.cacheStats());
     }
     
     @GetMapping("/{id}")
@@ -48,10 +124,10 @@ public class AccountController {
         @ApiResponse(responseCode = "200", description = "Compte trouvé"),
         @ApiResponse(responseCode = "404", description = "Compte non trouvé")
     })
-    public ResponseEntity<Account> getAccountById(
+    public ResponseEntity<AccountResponse> getAccountById(
             @Parameter(description = "ID du compte") @PathVariable Long id) {
         return accountService.findById(id)
-                .map(account -> ResponseEntity.ok(account))
+                .map(account -> ResponseEntity.ok(AccountResponse.from(account)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -61,10 +137,10 @@ public class AccountController {
         @ApiResponse(responseCode = "200", description = "Compte trouvé"),
         @ApiResponse(responseCode = "404", description = "Compte non trouvé")
     })
-    public ResponseEntity<Account> getAccountByNumber(
+    public ResponseEntity<AccountResponse> getAccountByNumber(
             @Parameter(description = "Numéro du compte") @PathVariable String accountNumber) {
         return accountService.findByAccountNumber(accountNumber)
-                .map(account -> ResponseEntity.ok(account))
+                .map(account -> ResponseEntity.ok(AccountResponse.from(account)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -74,28 +150,28 @@ public class AccountController {
         @ApiResponse(responseCode = "201", description = "Compte créé avec succès"),
         @ApiResponse(responseCode = "400", description = "Données invalides")
     })
-    public ResponseEntity<Account> createAccount(@Valid @RequestBody Account account) {
+    public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody AccountRequest request) {
         try {
-            Account savedAccount = accountService.save(account);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedAccount);
+            Account savedAccount = accountService.save(request.toAccount());
+            return ResponseEntity.status(HttpStatus.CREATED).body(AccountResponse.from(savedAccount));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @PutMapping("/{id}")
-    @Operation(summary = "Mettre à jour un compte", description = "Met à jour un compte existant")
+    @Operation(summary = "Mettre à jour un compte", description = "Met à jour le titulaire, le type et l'état d'un compte existant ; le solde fourni est ignoré, il n'évolue que par des mouvements")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Compte mis à jour avec succès"),
         @ApiResponse(responseCode = "404", description = "Compte non trouvé"),
         @ApiResponse(responseCode = "400", description = "Données invalides")
     })
-    public ResponseEntity<Account> updateAccount(
+    public ResponseEntity<AccountResponse> updateAccount(
             @Parameter(description = "ID du compte") @PathVariable Long id,
-            @Valid @RequestBody Account account) {
+            @Valid @RequestBody AccountRequest request) {
         try {
-            Account updatedAccount = accountService.update(id, account);
-            return ResponseEntity.ok(updatedAccount);
+            Account updatedAccount = accountService.update(id, request.toAccount());
+            return ResponseEntity.ok(AccountResponse.from(updatedAccount));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -122,18 +198,23 @@ public class AccountController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Dépôt effectué avec succès"),
         @ApiResponse(responseCode = "404", description = "Compte non trouvé"),
-        @ApiResponse(responseCode = "400", description = "Montant invalide")
+        @ApiResponse(responseCode = "400", description = "Montant ou clé d'idempotence invalide"),
+        @ApiResponse(responseCode = "409", description = "Requête de même clé d'idempotence en cours ou d'issue inconnue"),
+        @ApiResponse(responseCode = "422", description = "Clé d'idempotence déjà utilisée pour une autre requête")
     })
-    public ResponseEntity<Account> deposit(
+    public ResponseEntity<AccountResponse> deposit(
             @Parameter(description = "ID du compte") @PathVariable Long id,
-            @RequestBody Map<String, BigDecimal> request) {
-        try {
-            BigDecimal amount = request.get("amount");
-            Account updatedAccount = accountService.deposit(id, amount);
-            return ResponseEntity.ok(updatedAccount);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        }
+            @Parameter(description = "Clé d'idempotence : une requête répétée avec la même clé n'est appliquée qu'une fois")
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody AmountRequest request) {
+        return idempotent(idempotencyKey, "deposit:" + id + ":" + request.amount(), AccountResponse.class, () -> {
+            try {
+                Account updatedAccount = accountService.deposit(id, request.amount());
+                return ResponseEntity.ok(AccountResponse.from(updatedAccount));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
     
     @PostMapping("/{id}/withdraw")
@@ -141,17 +222,171 @@ public class AccountController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Retrait effectué avec succès"),
         @ApiResponse(responseCode = "404", description = "Compte non trouvé"),
-        @ApiResponse(responseCode = "400", description = "Montant invalide ou solde insuffisant")
+        @ApiResponse(responseCode = "400", description = "Montant ou clé d'idempotence invalide, ou solde insuffisant"),
+        @ApiResponse(responseCode = "409", description = "Requête de même clé d'idempotence en cours ou d'issue inconnue"),
+        @ApiResponse(responseCode = "422", description = "Clé d'idempotence déjà utilisée pour une autre requête")
+    })
+    public ResponseEntity<AccountResponse> withdraw(
+            @Parameter(description = "ID du compte") @PathVariable Long id,
+            @Parameter(description = "Clé d'idempotence : une requête répétée avec la même clé n'est appliquée qu'une fois")
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody AmountRequest request) {
+        return idempotent(idempotencyKey, "withdraw:" + id + ":" + request.amount(), AccountResponse.class, () -> {
+            try {
+                Account updatedAccount = accountService.withdraw(id, request.amount());
+                return ResponseEntity.ok(AccountResponse.from(updatedAccount));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+    
+    @PostMapping("/{id}/transfer")
+    @Operation(summary = "Effectuer un virement", description = "Transfère un montant vers un autre compte de manière atomique")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Virement effectué avec succès"),
+        @ApiResponse(responseCode = "400", description = "Montant ou clé d'idempotence invalide, compte introuvable ou solde insuffisant"),
+        @ApiResponse(responseCode = "409", description = "Requête de même clé d'idempotence en cours ou d'issue inconnue"),
+        @ApiResponse(responseCode = "422", description = "Clé d'idempotence déjà utilisée pour une autre requête")
+    })
+    public ResponseEntity<TransferResult> transfer(
+            @Parameter(description = "ID du compte source") @PathVariable Long id,
+            @Parameter(description = "Clé d'idempotence : une requête répétée avec la même clé n'est appliquée qu'une fois")
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody TransferRequest request) {
+        String fingerprint = "transfer:" + id + ":" + request.targetAccountId() + ":" + request.amount();
+        return idempotent(idempotencyKey, fingerprint, TransferResult.class, () -> {
+            try {
+                TransferResult result = accountService.transfer(id, request.targetAccountId(), request.amount());
+                return ResponseEntity.ok(result);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+    
+    @GetMapping("/{id}/transactions")
+    @Operation(summary = "Historique des mouvements", description = "Retourne une page des mouvements d'un compte, du plus récent au plus ancien ; l'en-tête X-Next-Before donne le curseur de la page suivante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page de mouvements récupérée avec succès"),
+        @ApiResponse(responseCode = "404", description = "Compte non trouvé"),
+        @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    public ResponseEntity<List<JournalEntryResponse>> getTransactions(
+            @Parameter(description = "ID du compte") @PathVariable Long id,
+            @Parameter(description = "ID du dernier mouvement de la page précédente") @RequestParam(required = false) Long before,
+            @Parameter(description = "Début de la période (inclus)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la période (exclue)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Taille de la page (1 à 1000)") @RequestParam(defaultValue = "50") int limit) {
+        if (accountService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        try {
+            List<JournalEntry> entries = transactionJournal.history(id, before, from, to, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (entries.size() == pageSize) {
+                response.header(PREVIOUS_CURSOR_HEADER, String.valueOf(entries.get(entries.size() - 1).getId()));
+            }
+            return response.body(JournalEntryResponse.from(entries));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{id}/balance")
+    @Operation(summary = "Solde à une date", description = "Retourne le solde d'un compte à une date donnée, reconstitué depuis l'instantané ou le mouvement le plus proche")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Solde reconstitué"),
+        @ApiResponse(responseCode = "404", description = "Compte non trouvé ou date antérieure à toute donnée disponible")
     })
-    public ResponseEntity<Account> withdraw(
+    public ResponseEntity<PointInTimeBalance> getBalanceAt(
             @Parameter(description = "ID du compte") @PathVariable Long id,
-            @RequestBody Map<String, BigDecimal> request) {
+            @Parameter(description = "Date du solde") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        try {
+            return balanceSnapshotService.balanceAt(id, at)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Exécuter un lot de mouvements", description = "Applique un lot de dépôts, retraits et virements en transactions groupées")
+    @ApiResponse(responseCode = "200", description = "Lot exécuté, résultat par instruction")
+    public ResponseEntity<List<BatchResult>> executeBatch(@RequestBody List<BatchInstruction> instructions) {
+        return ResponseEntity.ok(batchTransactionService.execute(instructions));
+    }
+    
+    @PostMapping(value = "/import", consumes = {CSV_VALUE, NDJSON_VALUE})
+    @Operation(summary = "Importer des comptes en masse", description = "Crée les comptes d'un fichier CSV (en-tête accountNumber,accountHolder,balance,accountType,isActive) ou NDJSON, lu au fil de la transmission et inséré par lots ; les lignes invalides ou en double sont rejetées une à une")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import terminé, bilan et erreurs par ligne"),
+        @ApiResponse(responseCode = "400", description = "En-tête CSV ou type de contenu invalide"),
+        @ApiResponse(responseCode = "409", description = "Un import est déjà en cours"),
+        @ApiResponse(responseCode = "500", description = "Import arrêté en cours de route ; bilan partiel, les lots déjà validés restent en base")
+    })
+    public ResponseEntity<ImportReport> importAccounts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
         try {
-            BigDecimal amount = request.get("amount");
-            Account updatedAccount = accountService.withdraw(id, amount);
-            return ResponseEntity.ok(updatedAccount);
+            ImportFormat format = ImportFormat.forMediaType(MediaType.parseMediaType(contentType));
+            return ResponseEntity.ok(accountImportService.importAccounts(body, format));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ImportAlreadyRunningException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ImportFailedException e) {
+            return ResponseEntity.internalServerError().body(e.report());
+        }
+    }
+    
+    @PostMapping("/interest-run")
+    @Operation(summary = "Calculer intérêts et frais", description = "Crédite les intérêts journaliers de tous les comptes actifs et prélève les frais mensuels le premier jour du mois")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Traitement terminé, bilan retourné"),
+        @ApiResponse(responseCode = "409", description = "Un traitement est déjà en cours, ou la date de valeur a déjà été traitée (bilan d'origine retourné s'il est terminé)"),
+        @ApiResponse(responseCode = "500", description = "Échec d'une tranche ; les tranches déjà validées restent appliquées")
+    })
+    public ResponseEntity<InterestRunReport> runInterest(
+            @Parameter(description = "Date de valeur (aujourd'hui par défaut)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate valueDate) {
+        try {
+            return ResponseEntity.ok(interestAccrualService.run(valueDate == null ? LocalDate.now() : valueDate));
+        } catch (InterestRunInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (InterestAlreadyAppliedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.report());
+        }
+    }
+    
+    /**
+     * Sans clé, la requête est exécutée telle quelle ; avec une clé, une seule exécution a lieu et les doublons
+     * reçoivent la même réponse sans solliciter le service. Une clé vide ou trop longue est refusée (400)
+     * sans être transmise au magasin d'idempotence. Seuls les conflits de clé sont traduits ici ; les autres
+     * erreurs (moteur de registre saturé, délai dépassé) suivent le traitement habituel des erreurs serveur.
+     */
+    private <T> ResponseEntity<T> idempotent(String key, String fingerprint, Class<T> bodyType, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (!IdempotencyStore.isValidKey(key)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return idempotencyStore.execute(key, fingerprint, bodyType, action);
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.unprocessableContent().build();
+        } catch (IdempotencyConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    private ResponseEntity<List<AccountResponse>> page(List<Account> accounts, int pageSize) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (accounts.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(accounts.get(accounts.size() - 1).getId()));
         }
+        return response.body(AccountResponse.from(accounts));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.dp.banking.banking_backend.controller;
+
+import com.dp.banking.banking_backend.admission.AdmissionControlFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admission")
+@RequiredArgsConstructor
+@Tag(name = "Admission", description = "Contrôle d'admission des requêtes (limitation par client et délestage)")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdmissionController {
+    
+    private final AdmissionControlFilter admissionControlFilter;
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Statistiques d'admission", description = "Retourne les compteurs de requêtes admises, limitées (429) et délestées (503), la limite de concurrence courante et le nombre de requêtes en cours")
+    @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès")
+    public ResponseEntity<AdmissionControlFilter.Stats> getStats() {
+        return ResponseEntity.ok(admissionControlFilter.stats());
+    }
+}
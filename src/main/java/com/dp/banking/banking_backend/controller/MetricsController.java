@@ -0,0 +1,34 @@
+package com.dp.banking.banking_backend.controller;
+
+import com.dp.banking.banking_backend.admission.AdmissionControlFilter;
+import com.dp.banking.banking_backend.dto.MetricsReport;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+import com.dp.banking.banking_backend.metrics.SqlStatementCounter;
+import com.dp.banking.banking_backend.service.AccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@Tag(name = "Metrics", description = "Métriques internes : latences des opérations, refus métier, allers-retours SQL")
+@CrossOrigin(origins = "http://localhost:3000")
+public class MetricsController {
+    
+    private final ServiceMetrics serviceMetrics;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final AccountService accountService;
+    
+    @GetMapping
+    @Operation(summary = "Métriques de l'application", description = "Retourne les histogrammes de latence par opération (en microsecondes : moyenne, p50, p90, p99, p99.9, max), les compteurs de refus, la distribution des instructions SQL par requête, l'admission et le cache des comptes")
+    @ApiResponse(responseCode = "200", description = "Métriques récupérées avec succès")
+    public ResponseEntity<MetricsReport> getMetrics() {
+        return ResponseEntity.ok(new MetricsReport(serviceMetrics.snapshot(), sqlStatementCounter.total(),
+                admissionControlFilter.stats(), accountService.cacheStats()));
+    }
+}
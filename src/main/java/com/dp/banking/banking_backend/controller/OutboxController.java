@@ -0,0 +1,50 @@
+package com.dp.banking.banking_backend.controller;
+
+import com.dp.banking.banking_backend.dto.OutboxEventResponse;
+import com.dp.banking.banking_backend.model.OutboxEvent;
+import com.dp.banking.banking_backend.outbox.OutboxRelay;
+import com.dp.banking.banking_backend.outbox.TransactionalOutbox;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/outbox")
+@RequiredArgsConstructor
+@Tag(name = "Outbox", description = "Lecture des événements bancaires de l'outbox transactionnelle")
+@CrossOrigin(origins = "http://localhost:3000")
+public class OutboxController {
+    
+    private static final int MAX_PAGE_SIZE = 5000;
+    
+    private final TransactionalOutbox outbox;
+    private final OutboxRelay outboxRelay;
+    
+    @GetMapping
+    @Operation(summary = "Lire les événements", description = "Retourne dans l'ordre les événements validés situés après la position donnée ; l'en-tête X-Next-After donne la position suivante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lot d'événements récupéré avec succès"),
+        @ApiResponse(responseCode = "410", description = "Des événements situés après la position donnée ont été purgés")
+    })
+    public ResponseEntity<List<OutboxEventResponse>> poll(
+            @Parameter(description = "ID du dernier événement déjà lu") @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Nombre maximal d'événements (1 à 5000)") @RequestParam(defaultValue = "500") int limit) {
+        List<OutboxEvent> events = outbox.read(after, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        // Contrôle après la lecture : une purge concurrente ne peut pas avoir retiré des événements du lot sans être vue
+        if (after < outboxRelay.purgedUpTo()) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        long next = events.isEmpty() ? after : events.get(events.size() - 1).getId();
+        return ResponseEntity.ok()
+                .header(AccountController.NEXT_CURSOR_HEADER, String.valueOf(next))
+                .body(OutboxEventResponse.from(events));
+    }
+}
@@ -0,0 +1,43 @@
+package com.dp.banking.banking_backend.controller;
+
+import com.dp.banking.banking_backend.dto.SnapshotRunResponse;
+import com.dp.banking.banking_backend.snapshot.BalanceSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/snapshots")
+@RequiredArgsConstructor
+@Tag(name = "Snapshots", description = "Instantanés périodiques des soldes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SnapshotController {
+    
+    private final BalanceSnapshotService balanceSnapshotService;
+    
+    @GetMapping
+    @Operation(summary = "Lister les instantanés", description = "Retourne les 50 derniers instantanés des soldes")
+    @ApiResponse(responseCode = "200", description = "Instantanés récupérés avec succès")
+    public ResponseEntity<List<SnapshotRunResponse>> getRuns() {
+        return ResponseEntity.ok(SnapshotRunResponse.from(balanceSnapshotService.recentRuns()));
+    }
+    
+    @PostMapping
+    @Operation(summary = "Lancer un instantané", description = "Démarre en arrière-plan le relevé des soldes de tous les comptes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Instantané démarré"),
+        @ApiResponse(responseCode = "409", description = "Un instantané est déjà en cours")
+    })
+    public ResponseEntity<Void> startSnapshot() {
+        return balanceSnapshotService.startSnapshot()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
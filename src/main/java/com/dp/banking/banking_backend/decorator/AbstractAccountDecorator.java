@@ -0,0 +1,93 @@
+package com.dp.banking.banking_backend.decorator;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.rules.OperationRules;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Base commune des décorateurs : intérêts journaliers au taux annuel du type de compte (sur un solde positif)
+ * et frais mensuels de tenue de compte, arrondis au centime (arrondi bancaire).
+ * L'autorisation des opérations est déléguée aux règles compilées de {@link OperationRules}.
+ */
+public abstract class AbstractAccountDecorator implements AccountDecorator {
+    
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+    
+    private final Account.AccountType accountType;
+    private final BigDecimal dailyInterestRate;
+    private final Money monthlyFee;
+    private final OperationRules operationRules;
+    
+    protected AbstractAccountDecorator(Account.AccountType accountType, BigDecimal annualInterestRate, BigDecimal monthlyFee,
+                                       OperationRules operationRules) {
+        this.accountType = accountType;
+        this.dailyInterestRate = annualInterestRate.divide(DAYS_PER_YEAR, 12, RoundingMode.HALF_EVEN);
+        this.monthlyFee = Money.of(monthlyFee.setScale(Money.SCALE, RoundingMode.HALF_EVEN));
+        this.operationRules = operationRules;
+    }
+    
+    @Override
+    public Account.AccountType accountType() {
+        return accountType;
+    }
+    
+    /**
+     * Intérêts d'une journée sur l'assiette du compte
+     */
+    @Override
+    public Money calculateInterest(Account account) {
+        Money base = interestBase(account);
+        if (dailyInterestRate.signum() == 0 || !base.isPositive()) {
+            return Money.ZERO;
+        }
+        return base.multiply(dailyInterestRate, RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Frais de tenue de compte d'un mois
+     */
+    @Override
+    public Money calculateFees(Account account) {
+        return monthlyFee;
+    }
+    
+    @Override
+    public Money chargeableFees(Account account, Money balance) {
+        Money headroom = balance.minus(operationRules.overdraftFloor(accountType));
+        return headroom.isPositive() ? calculateFees(account).min(headroom) : Money.ZERO;
+    }
+    
+    @Override
+    public boolean isOperationAllowed(Account account, Money amount, String operationType) {
+        return isOperationAllowed(account, amount, OperationType.valueOf(operationType));
+    }
+    
+    @Override
+    public boolean isOperationAllowed(Account account, Money amount, OperationType operationType) {
+        if (amount == null || amount.signum() <= 0) {
+            return false;
+        }
+        return operationRules.check(account, operationType, amount) == null;
+    }
+    
+    /**
+     * Crédite les intérêts du jour puis prélève les frais mensuels, sans descendre sous le découvert autorisé
+     */
+    @Override
+    public Account applyBusinessRules(Account account) {
+        Money credited = account.getBalance().plus(calculateInterest(account));
+        account.setBalance(credited.minus(chargeableFees(account, credited)));
+        return account;
+    }
+    
+    /**
+     * Assiette des intérêts (le solde, par défaut)
+     */
+    protected Money interestBase(Account account) {
+        return account.getBalance();
+    }
+}
@@ -1,8 +1,8 @@
 package com.dp.banking.banking_backend.decorator;
 
 import com.dp.banking.banking_backend.model.Account;
-
-import java.math.BigDecimal;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
 
 /**
  * Interface de base pour le pattern Decorator
@@ -10,20 +10,36 @@ import java.math.BigDecimal;
  */
 public interface AccountDecorator {
     
+    /**
+     * Type de compte pris en charge
+     */
+    Account.AccountType accountType();
+    
     /**
      * Calcule les intérêts pour un compte
      */
-    BigDecimal calculateInterest(Account account);
+    Money calculateInterest(Account account);
     
     /**
      * Calcule les frais pour un compte
      */
-    BigDecimal calculateFees(Account account);
+    Money calculateFees(Account account);
+    
+    /**
+     * Frais effectivement prélevables sur le solde donné : jamais négatifs, et sans descendre sous le découvert
+     * autorisé du type de compte
+     */
+    Money chargeableFees(Account account, Money balance);
     
     /**
      * Vérifie si une opération est autorisée
      */
-    boolean isOperationAllowed(Account account, BigDecimal amount, String operationType);
+    boolean isOperationAllowed(Account account, Money amount, String operationType);
+    
+    /**
+     * Vérifie si une opération est autorisée, sans conversion depuis son nom
+     */
+    boolean isOperationAllowed(Account account, Money amount, OperationType operationType);
     
     /**
      * Applique des règles métier spécifiques au type de compte
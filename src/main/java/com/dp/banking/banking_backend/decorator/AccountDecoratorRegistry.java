@@ -0,0 +1,30 @@
+package com.dp.banking.banking_backend.decorator;
+
+import com.dp.banking.banking_backend.model.Account;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Décorateur associé à chaque type de compte
+ */
+@Component
+public class AccountDecoratorRegistry {
+    
+    private final Map<Account.AccountType, AccountDecorator> decorators = new EnumMap<>(Account.AccountType.class);
+    
+    public AccountDecoratorRegistry(List<AccountDecorator> decorators) {
+        decorators.forEach(decorator -> this.decorators.put(decorator.accountType(), decorator));
+        for (Account.AccountType type : Account.AccountType.values()) {
+            if (!this.decorators.containsKey(type)) {
+                throw new IllegalStateException("Aucun décorateur pour le type de compte " + type);
+            }
+        }
+    }
+    
+    public AccountDecorator forAccount(Account account) {
+        return decorators.get(account.getAccountType());
+    }
+}
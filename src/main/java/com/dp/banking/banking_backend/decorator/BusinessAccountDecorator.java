@@ -0,0 +1,31 @@
+package com.dp.banking.banking_backend.decorator;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Compte professionnel : faiblement rémunéré, frais mensuels offerts au-delà d'un solde minimum
+ */
+@Component
+public class BusinessAccountDecorator extends AbstractAccountDecorator {
+    
+    private final Money feeWaiverBalance;
+    
+    public BusinessAccountDecorator(@Value("${banking.accounts.business.annual-interest-rate:0.005}") BigDecimal annualInterestRate,
+                                    @Value("${banking.accounts.business.monthly-fee:15.00}") BigDecimal monthlyFee,
+                                    @Value("${banking.accounts.business.fee-waiver-balance:10000}") BigDecimal feeWaiverBalance,
+                                    OperationRules operationRules) {
+        super(Account.AccountType.BUSINESS, annualInterestRate, monthlyFee, operationRules);
+        this.feeWaiverBalance = Money.of(feeWaiverBalance);
+    }
+    
+    @Override
+    public Money calculateFees(Account account) {
+        return account.getBalance().compareTo(feeWaiverBalance) >= 0 ? Money.ZERO : super.calculateFees(account);
+    }
+}
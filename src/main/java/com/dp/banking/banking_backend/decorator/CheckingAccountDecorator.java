@@ -0,0 +1,21 @@
+package com.dp.banking.banking_backend.decorator;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Compte courant : non rémunéré par défaut, frais mensuels de tenue de compte
+ */
+@Component
+public class CheckingAccountDecorator extends AbstractAccountDecorator {
+    
+    public CheckingAccountDecorator(@Value("${banking.accounts.checking.annual-interest-rate:0}") BigDecimal annualInterestRate,
+                                    @Value("${banking.accounts.checking.monthly-fee:2.00}") BigDecimal monthlyFee,
+                                    OperationRules operationRules) {
+        super(Account.AccountType.CHECKING, annualInterestRate, monthlyFee, operationRules);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dp.banking.banking_backend.decorator;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Compte épargne : rémunéré jusqu'au plafond réglementé, sans frais de tenue de compte
+ */
+@Component
+public class SavingsAccountDecorator extends AbstractAccountDecorator {
+    
+    private final Money interestCeiling;
+    
+    public SavingsAccountDecorator(@Value("${banking.accounts.savings.annual-interest-rate:0.03}") BigDecimal annualInterestRate,
+                                   @Value("${banking.accounts.savings.interest-ceiling:22950}") BigDecimal interestCeiling,
+                                   OperationRules operationRules) {
+        super(Account.AccountType.SAVINGS, annualInterestRate, BigDecimal.ZERO, operationRules);
+        this.interestCeiling = Money.of(interestCeiling);
+    }
+    
+    @Override
+    protected Money interestBase(Account account) {
+        return account.getBalance().min(interestCeiling);
+    }
+}
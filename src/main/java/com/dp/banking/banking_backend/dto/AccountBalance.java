@@ -0,0 +1,9 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+
+/**
+ * Projection (ID, solde) d'un compte pour les lectures en masse
+ */
+public record AccountBalance(Long id, Money balance) {
+}
@@ -0,0 +1,40 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Corps des requêtes de création et de mise à jour d'un compte.
+ * Les champs absents ({@code accountType}, {@code isActive}) gardent les valeurs par défaut de l'entité.
+ * Le solde n'est pris en compte qu'à la création ; une mise à jour ne le modifie pas.
+ */
+public record AccountRequest(
+        @Size(min = 10, max = 34, message = "Le numéro de compte doit contenir entre 10 et 34 caractères")
+        String accountNumber,
+        @NotBlank(message = "Le nom du titulaire ne peut pas être vide")
+        @Size(min = 2, max = 100, message = "Le nom du titulaire doit contenir entre 2 et 100 caractères")
+        String accountHolder,
+        @NotNull(message = "Le solde ne peut pas être null")
+        @DecimalMin(value = "0.0", inclusive = true, message = "Le solde ne peut pas être négatif")
+        Money balance,
+        Account.AccountType accountType,
+        Boolean isActive) {
+    
+    public Account toAccount() {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountHolder(accountHolder);
+        account.setBalance(balance);
+        if (accountType != null) {
+            account.setAccountType(accountType);
+        }
+        if (isActive != null) {
+            account.setIsActive(isActive);
+        }
+        return account;
+    }
+}
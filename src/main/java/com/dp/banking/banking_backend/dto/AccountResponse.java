@@ -0,0 +1,37 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Représentation d'un compte renvoyée par l'API : copie immuable de l'entité,
+ * sérialisée sans passer par le contexte de persistance (ni proxy, ni {@code toString} Lombok)
+ */
+public record AccountResponse(Long id,
+                              String accountNumber,
+                              String accountHolder,
+                              Money balance,
+                              Account.AccountType accountType,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt,
+                              Boolean isActive,
+                              Long version) {
+    
+    public static AccountResponse from(Account account) {
+        return new AccountResponse(account.getId(), account.getAccountNumber(), account.getAccountHolder(),
+                account.getBalance(), account.getAccountType(), account.getCreatedAt(), account.getUpdatedAt(),
+                account.getIsActive(), account.getVersion());
+    }
+    
+    public static List<AccountResponse> from(List<Account> accounts) {
+        List<AccountResponse> responses = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            responses.add(from(account));
+        }
+        return responses;
+    }
+}
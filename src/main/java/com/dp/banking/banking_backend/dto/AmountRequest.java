@@ -0,0 +1,9 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+
+/**
+ * Corps des requêtes de dépôt et de retrait
+ */
+public record AmountRequest(Money amount) {
+}
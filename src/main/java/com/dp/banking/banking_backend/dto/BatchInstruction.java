@@ -0,0 +1,16 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+
+/**
+ * Instruction d'un lot de mouvements : dépôt, retrait ou virement
+ * ({@code targetAccountId} n'est utilisé que pour les virements)
+ */
+public record BatchInstruction(Type type, Long accountId, Long targetAccountId, Money amount) {
+    
+    public enum Type {
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER
+    }
+}
@@ -0,0 +1,18 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+
+/**
+ * Résultat d'une instruction du lot, dans l'ordre de soumission
+ * ({@code balance} est le solde du compte principal après l'instruction)
+ */
+public record BatchResult(int index, boolean success, String message, Money balance) {
+    
+    public static BatchResult ok(int index, Money balance) {
+        return new BatchResult(index, true, null, balance);
+    }
+    
+    public static BatchResult rejected(int index, String message) {
+        return new BatchResult(index, false, message, null);
+    }
+}
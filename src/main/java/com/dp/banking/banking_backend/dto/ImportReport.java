@@ -0,0 +1,21 @@
+package com.dp.banking.banking_backend.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import de comptes. {@code errors} détaille les lignes rejetées par numéro de ligne, dans la limite
+ * de {@code banking.import.max-reported-errors} ; {@code rejected} en donne toujours le nombre exact.
+ */
+public record ImportReport(long rows,
+                           long imported,
+                           long rejected,
+                           List<RowError> errors,
+                           long elapsedMs,
+                           long rowsPerSecond) {
+    
+    /**
+     * @param accountNumber numéro lu sur la ligne, {@code null} s'il est absent ou illisible
+     */
+    public record RowError(long line, String accountNumber, String message) {
+    }
+}
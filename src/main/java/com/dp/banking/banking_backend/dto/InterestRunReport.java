@@ -0,0 +1,31 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.InterestRun;
+import com.dp.banking.banking_backend.model.Money;
+
+import java.time.LocalDate;
+
+/**
+ * Bilan d'un traitement d'intérêts et de frais.
+ * Intérêts et frais sont appliqués séparément : {@code feesRejected} compte les frais non prélevés parce qu'ils
+ * auraient fait passer le solde sous le découvert autorisé, sans effet sur les intérêts crédités.
+ */
+public record InterestRunReport(LocalDate valueDate,
+                                long accounts,
+                                long interestCredited,
+                                long feesCharged,
+                                long feesRejected,
+                                Money totalInterest,
+                                Money totalFees,
+                                long elapsedMs,
+                                long accountsPerSecond) {
+    
+    /**
+     * Bilan enregistré d'un traitement terminé
+     */
+    public static InterestRunReport from(InterestRun run) {
+        return new InterestRunReport(run.getValueDate(), run.getAccountCount(), run.getInterestCredited(),
+                run.getFeesCharged(), run.getFeesRejected(), run.getTotalInterest(), run.getTotalFees(),
+                run.getElapsedMs(), run.getAccountCount() * 1000 / Math.max(1, run.getElapsedMs()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.JournalEntry;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mouvement du journal renvoyé par l'historique d'un compte
+ */
+public record JournalEntryResponse(Long id,
+                                   Long accountId,
+                                   OperationType type,
+                                   Money amount,
+                                   Money balanceAfter,
+                                   Long counterpartyAccountId,
+                                   LocalDateTime occurredAt) {
+    
+    public static JournalEntryResponse from(JournalEntry entry) {
+        return new JournalEntryResponse(entry.getId(), entry.getAccountId(), entry.getType(), entry.getAmount(),
+                entry.getBalanceAfter(), entry.getCounterpartyAccountId(), entry.getOccurredAt());
+    }
+    
+    public static List<JournalEntryResponse> from(List<JournalEntry> entries) {
+        List<JournalEntryResponse> responses = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            responses.add(from(entry));
+        }
+        return responses;
+    }
+}
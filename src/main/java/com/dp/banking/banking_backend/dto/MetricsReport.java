@@ -0,0 +1,14 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.admission.AdmissionControlFilter;
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+
+/**
+ * Vue d'ensemble des métriques de l'application, cumulées depuis le démarrage
+ */
+public record MetricsReport(ServiceMetrics.Snapshot service,
+                            long sqlStatements,
+                            AdmissionControlFilter.Stats admission,
+                            AccountCache.Stats accountCache) {
+}
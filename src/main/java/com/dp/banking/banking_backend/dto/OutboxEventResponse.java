@@ -0,0 +1,36 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Événement de l'outbox renvoyé aux lecteurs de {@code GET /api/outbox}
+ */
+public record OutboxEventResponse(Long id,
+                                  Long accountId,
+                                  String accountNumber,
+                                  OperationType eventType,
+                                  Money amount,
+                                  Money balanceAfter,
+                                  Long counterpartyAccountId,
+                                  LocalDateTime createdAt) {
+    
+    public static OutboxEventResponse from(OutboxEvent event) {
+        return new OutboxEventResponse(event.getId(), event.getAccountId(), event.getAccountNumber(),
+                event.getEventType(), event.getAmount(), event.getBalanceAfter(), event.getCounterpartyAccountId(),
+                event.getCreatedAt());
+    }
+    
+    public static List<OutboxEventResponse> from(List<OutboxEvent> events) {
+        List<OutboxEventResponse> responses = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            responses.add(from(event));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Solde d'un compte à une date donnée et origine de la valeur
+ */
+public record PointInTimeBalance(Long accountId, LocalDateTime at, Money balance, Source source) {
+    
+    public enum Source {
+        /** Instantané le plus proche, aucun mouvement entre l'instantané et la date */
+        SNAPSHOT,
+        /** Dernier mouvement du journal antérieur à la date */
+        JOURNAL,
+        /** Compte inchangé depuis la date : solde courant */
+        CURRENT
+    }
+}
@@ -0,0 +1,28 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.SnapshotRun;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exécution d'un instantané des soldes ; {@code completedAt} est vide tant que le relevé est en cours
+ */
+public record SnapshotRunResponse(Long id,
+                                  LocalDateTime startedAt,
+                                  LocalDateTime completedAt,
+                                  Long accountCount) {
+    
+    public static SnapshotRunResponse from(SnapshotRun run) {
+        return new SnapshotRunResponse(run.getId(), run.getStartedAt(), run.getCompletedAt(), run.getAccountCount());
+    }
+    
+    public static List<SnapshotRunResponse> from(List<SnapshotRun> runs) {
+        List<SnapshotRunResponse> responses = new ArrayList<>(runs.size());
+        for (SnapshotRun run : runs) {
+            responses.add(from(run));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,9 @@
+package com.dp.banking.banking_backend.dto;
+
+import com.dp.banking.banking_backend.model.Money;
+
+/**
+ * Corps de la requête de virement vers un autre compte
+ */
+public record TransferRequest(Long targetAccountId, Money amount) {
+}
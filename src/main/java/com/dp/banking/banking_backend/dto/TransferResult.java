@@ -0,0 +1,7 @@
+package com.dp.banking.banking_backend.dto;
+
+/**
+ * Comptes source et destination après un virement
+ */
+public record TransferResult(AccountResponse source, AccountResponse target) {
+}
@@ -0,0 +1,32 @@
+package com.dp.banking.banking_backend.event;
+
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mouvement appliqué au solde d'un compte.
+ * Publié dans la transaction qui modifie le solde ; les écouteurs synchrones s'exécutent dans
+ * cette même transaction, les écouteurs {@code @TransactionalEventListener} après le commit.
+ * Le compte contrepartie n'est renseigné que pour les virements.
+ */
+public record BankingOperationEvent(Long accountId,
+                                    String accountNumber,
+                                    OperationType type,
+                                    Money amount,
+                                    Money balanceAfter,
+                                    Long counterpartyAccountId,
+                                    LocalDateTime occurredAt) {
+    
+    public static BankingOperationEvent of(Long accountId, String accountNumber, OperationType type,
+                                           Money amount, Money balanceAfter) {
+        return of(accountId, accountNumber, type, amount, balanceAfter, null);
+    }
+    
+    public static BankingOperationEvent of(Long accountId, String accountNumber, OperationType type,
+                                           Money amount, Money balanceAfter, Long counterpartyAccountId) {
+        return new BankingOperationEvent(accountId, accountNumber, type, amount, balanceAfter, counterpartyAccountId,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,16 @@
+package com.dp.banking.banking_backend.idempotency;
+
+/**
+ * La clé d'idempotence est réservée par une requête encore en cours, ou dont l'issue est inconnue
+ * (délai dépassé, interruption) : la requête n'est pas exécutée, pour ne pas risquer de l'appliquer deux fois
+ */
+public class IdempotencyConflictException extends IllegalStateException {
+    
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+    
+    public IdempotencyConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
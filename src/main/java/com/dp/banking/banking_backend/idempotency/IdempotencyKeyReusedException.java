@@ -0,0 +1,11 @@
+package com.dp.banking.banking_backend.idempotency;
+
+/**
+ * La clé d'idempotence a déjà servi pour une requête différente (autre empreinte)
+ */
+public class IdempotencyKeyReusedException extends IllegalArgumentException {
+    
+    public IdempotencyKeyReusedException() {
+        super("Clé d'idempotence déjà utilisée pour une autre requête");
+    }
+}
@@ -0,0 +1,223 @@
+package com.dp.banking.banking_backend.idempotency;
+
+import com.dp.banking.banking_backend.model.IdempotencyRecord;
+import com.dp.banking.banking_backend.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Déduplication des requêtes porteuses d'un en-tête {@code Idempotency-Key}.
+ * <ul>
+ *   <li>En mémoire, chaque clé est associée au résultat (éventuellement encore en cours) de sa première exécution,
+ *       dans un cache borné en taille et en durée de vie : un doublon rejoue la réponse, et des doublons concurrents
+ *       attendent le résultat de l'unique exécution au lieu de la relancer.</li>
+ *   <li>En base, la clé est réservée avant l'exécution puis complétée par la réponse. Une clé sortie du cache
+ *       (ou vue par une autre instance) est retrouvée là ; une réservation sans réponse signale une exécution
+ *       en cours ou interrompue, et la requête est refusée plutôt que rejouée sur les soldes.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    private final Duration retention;
+    private final long waitTimeoutMs;
+    
+    /**
+     * Réponse rendue pour une clé, avec l'empreinte de la requête qui l'a produite
+     */
+    record StoredResponse(String fingerprint, int status, Object body) {
+    }
+    
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            TransactionTemplate transactionTemplate,
+                            JsonMapper jsonMapper,
+                            @Value("${banking.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${banking.idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${banking.idempotency.retention-hours:24}") long retentionHours,
+                            @Value("${banking.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.retention = Duration.ofHours(retentionHours);
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+    
+    /**
+     * Une clé est valide si elle n'est pas vide et ne dépasse pas {@value #MAX_KEY_LENGTH} caractères
+     */
+    public static boolean isValidKey(String key) {
+        return !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+    
+    /**
+     * Exécute {@code action} une seule fois par clé et rejoue sa réponse pour les doublons
+     * (en-tête {@value #REPLAYED_HEADER}). Seules les réponses rendues sont conservées. Si {@code action} lève
+     * une exception, la clé n'est libérée que si rien n'a pu être appliqué (voir {@link #appliedNothing}) ;
+     * sinon la réservation reste sans réponse et les nouvelles tentatives sont refusées.
+     *
+     * @param fingerprint empreinte de la requête ; une clé réutilisée pour une autre requête est refusée
+     * @throws IllegalArgumentException si la clé est invalide
+     * @throws IdempotencyKeyReusedException si la clé a déjà servi pour une requête différente
+     * @throws IdempotencyConflictException si la première requête de cette clé est encore en cours ou d'issue inconnue
+     */
+    public <T> ResponseEntity<T> execute(String key, String fingerprint, Class<T> bodyType, Supplier<ResponseEntity<T>> action) {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Clé d'idempotence invalide");
+        }
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = responses.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            log.debug("Requête dupliquée pour la clé d'idempotence {}", key);
+            return replay(await(key, existing), fingerprint, bodyType);
+        }
+        
+        try {
+            StoredResponse persisted = reserve(key, fingerprint);
+            if (persisted != null) {
+                pending.complete(persisted);
+                return replay(persisted, fingerprint, bodyType);
+            }
+            ResponseEntity<T> response = execute(key, action);
+            pending.complete(new StoredResponse(fingerprint, response.getStatusCode().value(), response.getBody()));
+            return response;
+        } catch (RuntimeException e) {
+            responses.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Purge des clés plus anciennes que la durée de rétention
+     */
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval-ms:600000}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(status ->
+                repository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("{} clés d'idempotence expirées purgées", purged);
+        }
+    }
+    
+    /**
+     * Oubli d'une clé en mémoire (simulation d'une éviction)
+     */
+    void evict(String key) {
+        responses.invalidate(key);
+    }
+    
+    /**
+     * Réserve la clé en base ; si elle y figure déjà, retourne la réponse enregistrée
+     */
+    private StoredResponse reserve(String key, String fingerprint) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.reserve(key, fingerprint, LocalDateTime.now()));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyRecord record = repository.findById(key)
+                    .orElseThrow(() -> new IdempotencyConflictException("Requête en cours pour cette clé d'idempotence", e));
+            if (!record.getRequestFingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            if (!record.isCompleted()) {
+                throw new IdempotencyConflictException("Requête en cours ou d'issue inconnue pour cette clé d'idempotence");
+            }
+            log.debug("Réponse de la clé d'idempotence {} retrouvée en base", key);
+            return new StoredResponse(record.getRequestFingerprint(), record.getResponseStatus(), record.getResponseBody());
+        }
+    }
+    
+    private <T> ResponseEntity<T> execute(String key, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            if (appliedNothing(e)) {
+                transactionTemplate.executeWithoutResult(status -> repository.release(key));
+            } else {
+                log.warn("Issue inconnue pour la clé d'idempotence {} : la réservation est conservée", key);
+            }
+            throw e;
+        }
+        String body = response.getBody() == null ? null : jsonMapper.writeValueAsString(response.getBody());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    repository.complete(key, response.getStatusCode().value(), body, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // L'opération est appliquée : la réservation reste sans réponse et bloque tout rejeu
+            log.error("Échec de l'enregistrement de la réponse pour la clé d'idempotence {}", key, e);
+        }
+        return response;
+    }
+    
+    /**
+     * Échecs connus pour n'avoir rien appliqué : requête refusée par la validation, ou erreur de base de données
+     * ayant annulé la transaction. Un délai dépassé, une file saturée ou une interruption du moteur de registre
+     * ne le garantissent pas : l'opération peut encore être appliquée.
+     */
+    private static boolean appliedNothing(RuntimeException e) {
+        return e instanceof IllegalArgumentException
+                || e instanceof DataAccessException
+                || e instanceof UnexpectedRollbackException;
+    }
+    
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> pending) {
+        try {
+            return pending.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Échec de la requête pour la clé d'idempotence " + key, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("Requête en cours pour cette clé d'idempotence", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attente interrompue pour la clé d'idempotence " + key, e);
+        }
+    }
+    
+    /**
+     * Réponse enregistrée ; le corps lu en base est désérialisé à la demande
+     */
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        T body = stored.body() instanceof String json && bodyType != String.class
+                ? jsonMapper.readValue(json, bodyType)
+                : bodyType.cast(stored.body());
+        return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+    }
+}
@@ -0,0 +1,78 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.ImportReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Import en ligne de commande : si {@code banking.import.file} est renseigné, le fichier (.csv, .ndjson ou .jsonl)
+ * est importé au démarrage et le bilan JSON journalisé. Le contexte est ensuite fermé par {@link SpringApplication#exit},
+ * une fois tous les runners exécutés ; le code de sortie (0, ou 1 si des lignes ont été rejetées) est fourni
+ * comme {@link ExitCodeGenerator}.
+ * <pre>
+ *   java -jar banking-backend.jar --spring.main.web-application-type=none --banking.import.file=comptes.csv
+ * </pre>
+ */
+@Component
+@Slf4j
+public class AccountImportRunner implements ApplicationRunner, ExitCodeGenerator {
+    
+    private final AccountImportService accountImportService;
+    private final ApplicationContext applicationContext;
+    private final JsonMapper jsonMapper;
+    private final String file;
+    private volatile int exitCode;
+    
+    public AccountImportRunner(AccountImportService accountImportService,
+                               ApplicationContext applicationContext,
+                               JsonMapper jsonMapper,
+                               @Value("${banking.import.file:}") String file) {
+        this.accountImportService = accountImportService;
+        this.applicationContext = applicationContext;
+        this.jsonMapper = jsonMapper;
+        this.file = file;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (file.isBlank()) {
+            return;
+        }
+        
+        Path path = Path.of(file);
+        ImportFormat format = ImportFormat.forFileName(path.getFileName().toString());
+        log.info("Import en ligne de commande du fichier {}", path.toAbsolutePath());
+        ImportReport report;
+        try (InputStream input = Files.newInputStream(path)) {
+            report = accountImportService.importAccounts(input, format);
+        }
+        log.info("Bilan de l'import :\n{}", jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        exitCode = report.rejected() == 0 ? 0 : 1;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void shutdownAfterImport() {
+        if (!file.isBlank()) {
+            log.info("Import terminé, arrêt de l'application (code de sortie {})", SpringApplication.exit(applicationContext));
+        }
+    }
+    
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
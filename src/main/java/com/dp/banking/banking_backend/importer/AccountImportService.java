@@ -0,0 +1,380 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.AccountRequest;
+import com.dp.banking.banking_backend.dto.ImportReport;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.service.AccountNumberAllocator;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Import en masse de comptes depuis un flux CSV ou NDJSON.
+ * <p>
+ * Le flux est lu ligne à ligne par le thread appelant, qui valide chaque ligne (titulaire, solde, IBAN), attribue
+ * un numéro aux comptes qui n'en ont pas et regroupe les lignes en lots ; chaque lot est inséré en un lot JDBC,
+ * dans sa propre transaction, par un pool de {@code banking.import.workers} threads. Le nombre de lots en attente
+ * est borné : la mémoire utilisée ne dépend pas de la taille du fichier.
+ * <p>
+ * Les doublons sont détectés par un filtre de Bloom chargé avec les numéros déjà en base puis complété au fil
+ * de la lecture. Un numéro absent du filtre est inséré directement. Un numéro « peut-être présent » (doublon réel
+ * ou faux positif, environ 1 %) est mis de côté ; dès que {@code banking.import.batch-size} numéros sont en attente
+ * (et en fin de flux), les lots en cours sont attendus puis ces numéros sont vérifiés exactement : un numéro est
+ * rejeté s'il apparaît plus haut dans la tranche ou existe en base, où figurent alors toutes les lignes précédentes.
+ * La première occurrence d'un numéro l'emporte, et la mémoire reste bornée même pour un fichier déjà importé.
+ * Si un lot heurte malgré tout la contrainte d'unicité (compte créé entre-temps par l'API), il est repris ligne
+ * à ligne. Chaque rejet est rapporté avec son numéro de ligne ; un seul import s'exécute à la fois.
+ */
+@Service
+@Slf4j
+public class AccountImportService {
+    
+    private static final String INSERT_ACCOUNT = """
+            INSERT INTO accounts (account_number, account_holder, balance, account_type, is_active, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0)""";
+    private static final String DUPLICATE = "Un compte avec ce numéro existe déjà";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int LOOKUP_SLICE_SIZE = 1000;
+    private static final Money MAX_BALANCE = Money.of("9999999999999.99");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final ObjectReader ndjsonReader;
+    private final int batchSize;
+    private final int workers;
+    private final long expectedRows;
+    private final int maxReportedErrors;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public AccountImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                AccountNumberAllocator accountNumberAllocator,
+                                JsonMapper jsonMapper,
+                                @Value("${banking.import.batch-size:5000}") int batchSize,
+                                @Value("${banking.import.workers:0}") int workers,
+                                @Value("${banking.import.expected-rows:1000000}") long expectedRows,
+                                @Value("${banking.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.ndjsonReader = jsonMapper.readerFor(AccountRequest.class);
+        this.batchSize = batchSize;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.expectedRows = expectedRows;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    /**
+     * Importe tous les comptes du flux, encodé en UTF-8
+     *
+     * @throws IllegalArgumentException si l'en-tête CSV est invalide (aucune ligne n'est alors importée)
+     * @throws ImportAlreadyRunningException si un import est déjà en cours
+     * @throws ImportFailedException si l'import s'arrête en cours de route ; les lots déjà validés restent en base
+     */
+    public ImportReport importAccounts(InputStream input, ImportFormat format) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportAlreadyRunningException();
+        }
+        try (AccountRecordReader reader = open(input, format)) {
+            return run(reader, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du flux d'import interrompue", e);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private AccountRecordReader open(InputStream input, ImportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        return switch (format) {
+            case CSV -> new CsvAccountReader(reader);
+            case NDJSON -> new NdjsonAccountReader(reader, ndjsonReader);
+        };
+    }
+    
+    private ImportReport run(AccountRecordReader reader, ImportFormat format) {
+        log.info("Import de comptes ({}) : lecture du flux", format);
+        long start = System.nanoTime();
+        BloomFilter known = loadKnownNumbers();
+        Progress progress = new Progress();
+        List<Row> suspects = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(workers * 2);
+        List<Future<?>> batches = new ArrayList<>();
+        long rows = 0;
+        
+        try (ForkJoinPool pool = new ForkJoinPool(workers)) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            while (true) {
+                AccountRequest request;
+                try {
+                    request = reader.next();
+                } catch (IllegalArgumentException e) {
+                    rows++;
+                    progress.reject(reader.line(), null, e.getMessage());
+                    continue;
+                }
+                if (request == null) {
+                    break;
+                }
+                rows++;
+                String error = validate(request);
+                if (error != null) {
+                    progress.reject(reader.line(), request.accountNumber(), error);
+                    continue;
+                }
+                
+                String accountNumber = request.accountNumber();
+                if (accountNumber == null) {
+                    accountNumber = accountNumberAllocator.allocate();
+                } else if (known.mightContain(accountNumber)) {
+                    suspects.add(new Row(reader.line(), accountNumber, request));
+                    if (suspects.size() == batchSize) {
+                        // Les lignes lues avant ces numéros doivent être en base pour la vérification exacte
+                        if (!batch.isEmpty()) {
+                            submit(pool, inFlight, batches, batch, progress);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                        await(batches);
+                        resolveSuspects(suspects, progress);
+                        suspects.clear();
+                    }
+                    continue;
+                }
+                known.put(accountNumber);
+                batch.add(new Row(reader.line(), accountNumber, request));
+                if (batch.size() == batchSize) {
+                    submit(pool, inFlight, batches, batch, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(pool, inFlight, batches, batch, progress);
+            }
+            await(batches);
+            resolveSuspects(suspects, progress);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure("Import de comptes interrompu", format, rows, progress, start, e);
+        } catch (ExecutionException e) {
+            throw failure("Échec de l'import de comptes", format, rows, progress, start, e.getCause());
+        } catch (IOException e) {
+            throw failure("Lecture du flux d'import interrompue", format, rows, progress, start, e);
+        } catch (RuntimeException e) {
+            throw failure("Échec de l'import de comptes", format, rows, progress, start, e);
+        }
+        
+        ImportReport report = report(rows, progress, start);
+        log.info("Import de comptes ({}) terminé : {} lignes, {} comptes créés, {} lignes rejetées en {} ms ({} lignes/s)",
+                format, report.rows(), report.imported(), report.rejected(), report.elapsedMs(), report.rowsPerSecond());
+        return report;
+    }
+    
+    private ImportReport report(long rows, Progress progress, long start) {
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        List<ImportReport.RowError> errors = new ArrayList<>(progress.errors);
+        errors.sort(Comparator.comparingLong(ImportReport.RowError::line));
+        return new ImportReport(rows, progress.imported.sum(), progress.rejected.sum(), errors, elapsedMs,
+                rows * 1000 / elapsedMs);
+    }
+    
+    /**
+     * Bilan au moment de l'arrêt : les lots en cours ont été menés à terme (fermeture du pool), les suivants abandonnés
+     */
+    private ImportFailedException failure(String message, ImportFormat format, long rows, Progress progress, long start,
+                                          Throwable cause) {
+        ImportReport report = report(rows, progress, start);
+        log.error("Import de comptes ({}) arrêté après {} lignes : {} comptes créés, {} lignes rejetées",
+                format, report.rows(), report.imported(), report.rejected(), cause);
+        return new ImportFailedException(message, report, cause);
+    }
+    
+    /**
+     * Filtre dimensionné pour les comptes existants et {@code banking.import.expected-rows} nouvelles lignes
+     */
+    private BloomFilter loadKnownNumbers() {
+        long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+        BloomFilter known = BloomFilter.forCapacity(existing + expectedRows, FALSE_POSITIVE_RATE);
+        jdbcTemplate.query("SELECT account_number FROM accounts", (RowCallbackHandler) rs -> known.put(rs.getString(1)));
+        log.debug("Filtre des doublons : {} numéros existants, {} Ko", existing, known.sizeInBytes() / 1024);
+        return known;
+    }
+    
+    private void submit(ForkJoinPool pool, Semaphore inFlight, List<Future<?>> batches, List<Row> batch,
+                        Progress progress) throws InterruptedException {
+        inFlight.acquire();
+        batches.add(pool.submit(() -> {
+            try {
+                insertBatch(batch, progress);
+            } finally {
+                inFlight.release();
+            }
+        }));
+    }
+    
+    private static void await(List<Future<?>> batches) throws InterruptedException, ExecutionException {
+        for (Future<?> result : batches) {
+            result.get();
+        }
+        batches.clear();
+    }
+    
+    /**
+     * Vérification exacte d'une tranche de numéros signalés par le filtre : d'abord dans la tranche (occurrences
+     * précédentes), puis en base, où figurent désormais toutes les lignes précédentes, y compris les tranches
+     * déjà vérifiées
+     */
+    private void resolveSuspects(List<Row> suspects, Progress progress) {
+        if (suspects.isEmpty()) {
+            return;
+        }
+        Set<String> seen = new HashSet<>();
+        List<Row> candidates = new ArrayList<>();
+        for (Row row : suspects) {
+            if (seen.add(row.accountNumber())) {
+                candidates.add(row);
+            } else {
+                progress.reject(row.line(), row.accountNumber(), DUPLICATE);
+            }
+        }
+        
+        List<Row> batch = new ArrayList<>(batchSize);
+        for (int from = 0; from < candidates.size(); from += LOOKUP_SLICE_SIZE) {
+            List<Row> slice = candidates.subList(from, Math.min(from + LOOKUP_SLICE_SIZE, candidates.size()));
+            Set<String> existing = existingNumbers(slice);
+            for (Row row : slice) {
+                if (existing.contains(row.accountNumber())) {
+                    progress.reject(row.line(), row.accountNumber(), DUPLICATE);
+                } else {
+                    batch.add(row);
+                }
+            }
+            if (batch.size() >= batchSize) {
+                insertBatch(batch, progress);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, progress);
+        }
+        log.debug("{} numéros signalés par le filtre de doublons vérifiés en base", candidates.size());
+    }
+    
+    private Set<String> existingNumbers(List<Row> rows) {
+        String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT account_number FROM accounts WHERE account_number IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> existing.add(rs.getString(1)),
+                rows.stream().map(Row::accountNumber).toArray());
+        return existing;
+    }
+    
+    private void insertBatch(List<Row> batch, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            progress.imported.add(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lot de {} comptes refusé par la base, reprise ligne à ligne", batch.size(), e);
+            for (Row row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    progress.imported.increment();
+                } catch (DataIntegrityViolationException rowError) {
+                    progress.reject(row.line(), row.accountNumber(), rowError instanceof DuplicateKeyException
+                            ? DUPLICATE : "Ligne refusée par la base: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+    
+    private void insert(List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT, rows, rows.size(), (statement, row) -> {
+            AccountRequest request = row.request();
+            statement.setString(1, row.accountNumber());
+            statement.setString(2, request.accountHolder());
+            statement.setBigDecimal(3, request.balance().toBigDecimal());
+            statement.setString(4, (request.accountType() != null ? request.accountType() : Account.AccountType.CHECKING).name());
+            statement.setBoolean(5, request.isActive() == null || request.isActive());
+            statement.setTimestamp(6, now);
+            statement.setTimestamp(7, now);
+        });
+    }
+    
+    /**
+     * Mêmes règles que la validation de {@code POST /api/accounts}, plus la capacité de la colonne du solde
+     */
+    private static String validate(AccountRequest request) {
+        String holder = request.accountHolder();
+        if (holder == null || holder.isBlank()) {
+            return "Le nom du titulaire ne peut pas être vide";
+        }
+        if (holder.length() < 2 || holder.length() > 100) {
+            return "Le nom du titulaire doit contenir entre 2 et 100 caractères";
+        }
+        if (request.balance() == null) {
+            return "Le solde ne peut pas être null";
+        }
+        if (request.balance().isNegative()) {
+            return "Le solde ne peut pas être négatif";
+        }
+        if (request.balance().compareTo(MAX_BALANCE) > 0) {
+            return "Le solde dépasse le maximum autorisé (" + MAX_BALANCE + ")";
+        }
+        if (request.accountNumber() != null && !AccountNumberGenerator.isValidIban(request.accountNumber())) {
+            return "Le numéro de compte n'est pas un IBAN valide";
+        }
+        return null;
+    }
+    
+    private record Row(long line, String accountNumber, AccountRequest request) {
+    }
+    
+    /**
+     * Compteurs partagés entre le thread de lecture et les workers ; le détail des erreurs est borné
+     */
+    private final class Progress {
+        
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final List<ImportReport.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        
+        void reject(long line, String accountNumber, String message) {
+            rejected.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.RowError(line, accountNumber, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.AccountRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lecture ligne à ligne d'un fichier de comptes, sans le charger en mémoire
+ */
+interface AccountRecordReader extends Closeable {
+    
+    /**
+     * @return le compte de la ligne suivante, {@code null} en fin de fichier
+     * @throws IllegalArgumentException si la ligne est illisible ; la lecture reprend à la ligne suivante
+     */
+    AccountRequest next() throws IOException;
+    
+    /**
+     * Numéro (à partir de 1) de la dernière ligne lue
+     */
+    long line();
+}
@@ -0,0 +1,74 @@
+package com.dp.banking.banking_backend.importer;
+
+/**
+ * Filtre de Bloom sur des numéros de compte : « absent » est certain, « peut-être présent » ne l'est pas
+ * (faux positifs au taux choisi à la construction, plus élevé si la capacité est dépassée).
+ * Les positions sont dérivées d'un seul hachage 64 bits (double hachage de Kirsch-Mitzenmacher),
+ * calculé sur les caractères sans créer de chaîne ni de tableau. Non synchronisé.
+ */
+final class BloomFilter {
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashes;
+    
+    private BloomFilter(long bitCount, int hashes) {
+        this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashes = hashes;
+    }
+    
+    /**
+     * Dimensionne le filtre pour {@code capacity} éléments au taux de faux positifs donné
+     */
+    static BloomFilter forCapacity(long capacity, double falsePositiveRate) {
+        long n = Math.max(1, capacity);
+        double ln2 = Math.log(2);
+        long bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int hashes = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+        return new BloomFilter(bitCount, hashes);
+    }
+    
+    void put(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = Long.rotateLeft(h1, 32) | 1;
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    boolean mightContain(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = Long.rotateLeft(h1, 32) | 1;
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+    
+    /**
+     * FNV-1a sur les caractères puis mélange final de MurmurHash3, pour répartir aussi les bits de poids fort
+     */
+    private static long hash(CharSequence key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,155 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.AccountRequest;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CSV séparé par des virgules, première ligne d'en-tête nommant les colonnes (champs d'{@link AccountRequest},
+ * dans un ordre quelconque ; accountHolder et balance obligatoires). Les champs peuvent être entourés de
+ * guillemets doubles ({@code ""} pour un guillemet) mais ne peuvent pas contenir de saut de ligne.
+ * Un champ vide vaut absence de valeur.
+ */
+final class CsvAccountReader implements AccountRecordReader {
+    
+    private static final List<String> COLUMNS = List.of("accountNumber", "accountHolder", "balance", "accountType", "isActive");
+    private static final int ACCOUNT_NUMBER = 0;
+    private static final int ACCOUNT_HOLDER = 1;
+    private static final int BALANCE = 2;
+    private static final int ACCOUNT_TYPE = 3;
+    private static final int IS_ACTIVE = 4;
+    
+    private final BufferedReader reader;
+    /**
+     * Position dans le fichier de chaque champ d'{@link AccountRequest}, -1 si la colonne est absente
+     */
+    private final int[] positions = new int[COLUMNS.size()];
+    private final String[] fields;
+    private final StringBuilder field = new StringBuilder(64);
+    private long line;
+    
+    CsvAccountReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Fichier CSV vide : une ligne d'en-tête est attendue");
+        }
+        line = 1;
+        String[] names = header.strip().split(",", -1);
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < names.length; i++) {
+            int column = COLUMNS.indexOf(names[i].strip());
+            if (column < 0) {
+                throw new IllegalArgumentException("Colonne inconnue dans l'en-tête CSV: " + names[i] + " (attendues: " + COLUMNS + ")");
+            }
+            positions[column] = i;
+        }
+        if (positions[ACCOUNT_HOLDER] < 0 || positions[BALANCE] < 0) {
+            throw new IllegalArgumentException("L'en-tête CSV doit contenir les colonnes accountHolder et balance");
+        }
+        fields = new String[names.length];
+    }
+    
+    @Override
+    public AccountRequest next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        
+        split(text);
+        String balance = field(BALANCE);
+        return new AccountRequest(field(ACCOUNT_NUMBER), field(ACCOUNT_HOLDER),
+                balance == null ? null : Money.of(balance), accountType(field(ACCOUNT_TYPE)), active(field(IS_ACTIVE)));
+    }
+    
+    @Override
+    public long line() {
+        return line;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private void split(String text) {
+        int count = 0;
+        int i = 0;
+        int length = text.length();
+        while (true) {
+            field.setLength(0);
+            if (i < length && text.charAt(i) == '"') {
+                for (i++; ; i++) {
+                    if (i == length) {
+                        throw new IllegalArgumentException("Guillemet non refermé");
+                    }
+                    char c = text.charAt(i);
+                    if (c == '"') {
+                        if (i + 1 < length && text.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            i++;
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < length && text.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Caractère inattendu après un champ entre guillemets");
+                }
+            } else {
+                int end = text.indexOf(',', i);
+                field.append(text, i, end < 0 ? length : end);
+                i = end < 0 ? length : end;
+            }
+            if (count == fields.length) {
+                throw new IllegalArgumentException(fields.length + " colonnes attendues, davantage trouvées");
+            }
+            fields[count++] = field.isEmpty() ? null : field.toString();
+            if (i == length) {
+                break;
+            }
+            i++;
+        }
+        if (count != fields.length) {
+            throw new IllegalArgumentException(fields.length + " colonnes attendues, " + count + " trouvées");
+        }
+    }
+    
+    private String field(int column) {
+        return positions[column] < 0 ? null : fields[positions[column]];
+    }
+    
+    private static Account.AccountType accountType(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Account.AccountType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Type de compte inconnu: " + value);
+        }
+    }
+    
+    private static Boolean active(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.valueOf(value);
+        }
+        throw new IllegalArgumentException("Valeur booléenne invalide pour isActive: " + value);
+    }
+}
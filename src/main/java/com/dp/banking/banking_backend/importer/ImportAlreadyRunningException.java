@@ -0,0 +1,11 @@
+package com.dp.banking.banking_backend.importer;
+
+/**
+ * Un import de comptes est déjà en cours : le nouveau n'a pas démarré et aucune ligne n'a été lue
+ */
+public class ImportAlreadyRunningException extends IllegalStateException {
+    
+    public ImportAlreadyRunningException() {
+        super("Un import de comptes est déjà en cours");
+    }
+}
@@ -0,0 +1,21 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.ImportReport;
+
+/**
+ * Import interrompu par une erreur technique ou une lecture du flux en échec. Les lots validés avant l'erreur
+ * restent en base : {@link #report()} donne la progression au moment de l'arrêt.
+ */
+public class ImportFailedException extends IllegalStateException {
+    
+    private final transient ImportReport report;
+    
+    public ImportFailedException(String message, ImportReport report, Throwable cause) {
+        super(message, cause);
+        this.report = report;
+    }
+    
+    public ImportReport report() {
+        return report;
+    }
+}
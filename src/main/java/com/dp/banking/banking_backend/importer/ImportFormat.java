@@ -0,0 +1,41 @@
+package com.dp.banking.banking_backend.importer;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formats acceptés par l'import de comptes, reconnus au type de contenu (API) ou à l'extension (ligne de commande)
+ */
+public enum ImportFormat {
+    CSV(MediaType.parseMediaType("text/csv"), List.of(".csv")),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), List.of(".ndjson", ".jsonl"));
+    
+    private final MediaType mediaType;
+    private final List<String> extensions;
+    
+    ImportFormat(MediaType mediaType, List<String> extensions) {
+        this.mediaType = mediaType;
+        this.extensions = extensions;
+    }
+    
+    public static ImportFormat forMediaType(MediaType contentType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Type de contenu non pris en charge: " + contentType);
+    }
+    
+    public static ImportFormat forFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        for (ImportFormat format : values()) {
+            if (format.extensions.stream().anyMatch(name::endsWith)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Extension de fichier non prise en charge (.csv, .ndjson ou .jsonl): " + fileName);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.AccountRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Un objet JSON par ligne, de mêmes champs qu'{@link AccountRequest}. Chaque ligne est analysée séparément :
+ * une ligne mal formée est rejetée seule, sans interrompre la lecture du flux.
+ */
+final class NdjsonAccountReader implements AccountRecordReader {
+    
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+    
+    NdjsonAccountReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader;
+    }
+    
+    @Override
+    public AccountRequest next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        
+        try {
+            return objectReader.readValue(text);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("JSON invalide: " + e.getOriginalMessage());
+        }
+    }
+    
+    @Override
+    public long line() {
+        return line;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.dp.banking.banking_backend.journal;
+
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.model.JournalEntry;
+import com.dp.banking.banking_backend.repository.JournalEntryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Journal append-only des mouvements de solde.
+ * Chaque {@link BankingOperationEvent} est ajouté dans la transaction qui l'a publié ; les IDs sont
+ * réservés par blocs (séquence à pas de 1000) et les insertions partent en lot JDBC au commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionJournal {
+    
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(9999, 12, 31, 23, 59);
+    
+    private final EntityManager entityManager;
+    private final JournalEntryRepository journalEntryRepository;
+    
+    @EventListener
+    public void onBankingOperation(BankingOperationEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Une écriture de journal doit être ajoutée dans la transaction du mouvement");
+        }
+        entityManager.persist(JournalEntry.from(event));
+    }
+    
+    /**
+     * Page de l'historique d'un compte, du plus récent au plus ancien.
+     *
+     * @param before ID de la dernière écriture de la page précédente, ou {@code null} pour la première page
+     * @param from   début de la période (inclus), ou {@code null}
+     * @param to     fin de la période (exclue), ou {@code null}
+     */
+    public List<JournalEntry> history(Long accountId, Long before, LocalDateTime from, LocalDateTime to, int limit) {
+        log.debug("Historique du compte ID: {} avant l'écriture: {}", accountId, before);
+        LocalDateTime at = to == null ? END : to;
+        long id = Long.MIN_VALUE;
+        if (before != null) {
+            JournalEntry cursor = journalEntryRepository.findById(before)
+                    .filter(entry -> entry.getAccountId().equals(accountId))
+                    .orElseThrow(() -> new IllegalArgumentException("Curseur d'historique invalide: " + before));
+            at = cursor.getOccurredAt();
+            id = cursor.getId();
+        }
+        return journalEntryRepository.findHistory(accountId, from == null ? BEGINNING : from, at, id, Limit.of(limit));
+    }
+}
@@ -0,0 +1,281 @@
+package com.dp.banking.banking_backend.ledger;
+
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Moteur de registre à écrivain unique.
+ * Les comptes sont répartis par ID entre N shards ; chaque shard possède sa file et son thread,
+ * applique les mouvements séquentiellement en mémoire puis écrit le solde net de chaque compte
+ * en une seule transaction par lot (group commit). Deux shards ne touchent jamais le même compte,
+ * il n'y a donc aucune contention de ligne entre eux.
+ * <p>
+ * Un shard qui s'arrête, normalement ou non, fait échouer toutes les opérations encore en attente dans sa file ;
+ * l'appelant n'attend jamais plus de {@code banking.ledger.timeout-ms}, ni pour entrer dans la file, ni pour
+ * obtenir le résultat.
+ */
+@Component
+@Slf4j
+public class LedgerEngine {
+    
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountCache accountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMetrics serviceMetrics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long timeoutMs;
+    private final Shard[] shards;
+    
+    private volatile boolean running;
+    
+    public LedgerEngine(AccountRepository accountRepository,
+                        TransactionTemplate transactionTemplate,
+                        AccountCache accountCache,
+                        ApplicationEventPublisher eventPublisher,
+                        ServiceMetrics serviceMetrics,
+                        @Value("${banking.ledger.enabled:false}") boolean enabled,
+                        @Value("${banking.ledger.shards:0}") int shardCount,
+                        @Value("${banking.ledger.batch-size:256}") int batchSize,
+                        @Value("${banking.ledger.queue-capacity:10000}") int queueCapacity,
+                        @Value("${banking.ledger.timeout-ms:30000}") long timeoutMs) {
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountCache = accountCache;
+        this.eventPublisher = eventPublisher;
+        this.serviceMetrics = serviceMetrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.timeoutMs = timeoutMs;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new Shard[enabled ? count : 0];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+    
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+        log.info("Moteur de registre démarré avec {} shards", shards.length);
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            shard.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public Account deposit(Long accountId, Money amount) {
+        return submit(new Mutation(accountId, amount, false, null));
+    }
+    
+    /**
+     * @param floor solde minimum après débit (opposé du découvert autorisé)
+     */
+    public Account withdraw(Long accountId, Money amount, Money floor) {
+        return submit(new Mutation(accountId, amount, true, floor));
+    }
+    
+    /**
+     * Une opération dont l'attente expire peut encore être appliquée ensuite par le shard
+     */
+    private Account submit(Mutation mutation) {
+        if (!running) {
+            throw new IllegalStateException("Le moteur de registre n'est pas démarré");
+        }
+        Shard shard = shards[Math.floorMod(mutation.accountId, shards.length)];
+        try {
+            if (!shard.queue.offer(mutation, timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("File du moteur de registre saturée");
+            }
+            if (shard.closed) {
+                // Shard arrêté entre la vérification de running et la mise en file : il ne lira plus sa file
+                shard.queue.remove(mutation);
+                mutation.result.completeExceptionally(shard.stopped());
+            }
+            return mutation.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Opération interrompue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Échec de l'opération sur le compte ID: " + mutation.accountId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Délai dépassé en attente du moteur de registre", e);
+        }
+    }
+    
+    private final class Shard implements Runnable {
+        
+        private final int index;
+        private final BlockingQueue<Mutation> queue;
+        private final Thread thread;
+        private volatile boolean closed;
+        
+        Shard(int index, int queueCapacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "ledger-shard-" + index);
+        }
+        
+        /**
+         * Le lot courant n'est vidé qu'au tour suivant : si le thread meurt pendant {@link #apply},
+         * ses opérations sont encore connues et échouent avec le reste de la file
+         */
+        @Override
+        public void run() {
+            List<Mutation> batch = new ArrayList<>(batchSize);
+            try {
+                while (running || !queue.isEmpty()) {
+                    batch.clear();
+                    try {
+                        Mutation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        queue.drainTo(batch, batchSize - 1);
+                        apply(batch);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (RuntimeException e) {
+                        log.error("Échec du lot de {} opérations", batch.size(), e);
+                        batch.forEach(mutation -> mutation.result.completeExceptionally(e));
+                    }
+                }
+            } finally {
+                close(batch);
+            }
+        }
+        
+        /**
+         * Marque le shard fermé avant de vider la file : une opération mise en file après ce vidage
+         * voit {@code closed} et échoue côté appelant
+         */
+        private void close(List<Mutation> batch) {
+            closed = true;
+            queue.drainTo(batch);
+            IllegalStateException stopped = stopped();
+            batch.forEach(mutation -> mutation.result.completeExceptionally(stopped));
+            if (running) {
+                log.error("Shard {} du moteur de registre arrêté de façon inattendue", index);
+            }
+        }
+        
+        private IllegalStateException stopped() {
+            return new IllegalStateException("Le shard " + index + " du moteur de registre est arrêté");
+        }
+        
+        /**
+         * Applique un lot dans une seule transaction : les comptes concernés sont verrouillés
+         * dans l'ordre des IDs, les mouvements appliqués un par un en mémoire,
+         * et seul le solde final de chaque compte est écrit au commit.
+         */
+        private void apply(List<Mutation> batch) {
+            Map<Long, Account> accounts = transactionTemplate.execute(status -> {
+                Set<Long> ids = new LinkedHashSet<>();
+                batch.forEach(mutation -> ids.add(mutation.accountId));
+                
+                Map<Long, Account> locked = new HashMap<>();
+                accountRepository.findAllByIdInForUpdate(ids).forEach(account -> locked.put(account.getId(), account));
+                
+                for (Mutation mutation : batch) {
+                    Account account = locked.get(mutation.accountId);
+                    if (account == null) {
+                        mutation.error = new IllegalArgumentException("Compte non trouvé avec l'ID: " + mutation.accountId);
+                    } else if (mutation.debit && account.getBalance().minus(mutation.amount).compareTo(mutation.floor) < 0) {
+                        serviceMetrics.increment(ServiceMetrics.Counter.INSUFFICIENT_FUNDS);
+                        mutation.error = new IllegalArgumentException("Solde insuffisant");
+                    } else {
+                        account.setBalance(mutation.debit
+                                ? account.getBalance().minus(mutation.amount)
+                                : account.getBalance().plus(mutation.amount));
+                        mutation.balanceAfter = account.getBalance();
+                        eventPublisher.publishEvent(BankingOperationEvent.of(account.getId(), account.getAccountNumber(),
+                                mutation.debit ? OperationType.WITHDRAWAL : OperationType.DEPOSIT,
+                                mutation.amount, mutation.balanceAfter));
+                    }
+                }
+                locked.values().forEach(accountCache::putAfterCommit);
+                return locked;
+            });
+            
+            for (Mutation mutation : batch) {
+                if (mutation.error != null) {
+                    mutation.result.completeExceptionally(mutation.error);
+                } else {
+                    mutation.result.complete(snapshot(accounts.get(mutation.accountId), mutation.balanceAfter));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Copie détachée du compte reflétant le solde juste après le mouvement de l'appelant
+     */
+    private static Account snapshot(Account account, Money balance) {
+        return new Account(account.getId(), account.getAccountNumber(), account.getAccountHolder(), balance,
+                account.getAccountType(), account.getCreatedAt(), account.getUpdatedAt(), account.getIsActive(),
+                account.getVersion());
+    }
+    
+    private static final class Mutation {
+        
+        private final Long accountId;
+        private final Money amount;
+        private final boolean debit;
+        private final Money floor;
+        private final CompletableFuture<Account> result = new CompletableFuture<>();
+        private Money balanceAfter;
+        private RuntimeException error;
+        
+        Mutation(Long accountId, Money amount, boolean debit, Money floor) {
+            this.accountId = accountId;
+            this.amount = amount;
+            this.debit = debit;
+            this.floor = floor;
+        }
+    }
+}
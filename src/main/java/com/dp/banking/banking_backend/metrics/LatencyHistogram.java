@@ -0,0 +1,97 @@
+package com.dp.banking.banking_backend.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme à échelle log-linéaire (à la manière de HdrHistogram) : chaque puissance de deux est découpée
+ * en 32 sous-intervalles, soit une erreur relative inférieure à 3,2 % sur toute l'étendue d'un {@code long}.
+ * L'enregistrement est sans verrou et sans allocation : un calcul d'indice par décalage de bits
+ * et quelques incréments atomiques. Les centiles sont calculés à la lecture, sur une copie des compteurs.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    
+    /**
+     * Valeurs exprimées dans l'unité de lecture choisie (par exemple en microsecondes pour des nanosecondes / 1000)
+     */
+    public record Snapshot(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+    
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Un autre thread a relevé le maximum entre-temps : nouvelle comparaison
+        }
+    }
+    
+    /**
+     * @param unit diviseur appliqué aux valeurs restituées (1 pour les valeurs brutes)
+     */
+    public Snapshot snapshot(double unit) {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long maximum = max.get();
+        if (total == 0) {
+            return new Snapshot(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new Snapshot(total, sum.sum() / (double) count.sum() / unit,
+                percentile(copy, total, 0.50, maximum) / unit,
+                percentile(copy, total, 0.90, maximum) / unit,
+                percentile(copy, total, 0.99, maximum) / unit,
+                percentile(copy, total, 0.999, maximum) / unit,
+                maximum / unit);
+    }
+    
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+    
+    /**
+     * Plus grande valeur enregistrée dans l'intervalle d'indice donné
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+    
+    private static long percentile(long[] counts, long total, double quantile, long maximum) {
+        long rank = Math.max(1, (long) Math.ceil(total * quantile));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(highestValue(i), maximum);
+            }
+        }
+        return maximum;
+    }
+}
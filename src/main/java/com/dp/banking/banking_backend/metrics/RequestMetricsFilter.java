@@ -0,0 +1,38 @@
+package com.dp.banking.banking_backend.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Enregistre le nombre d'allers-retours SQL de chaque requête {@code /api/**}
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    
+    private final SqlStatementCounter sqlStatementCounter;
+    private final ServiceMetrics serviceMetrics;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long before = sqlStatementCounter.currentThread();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            serviceMetrics.recordStatementsPerRequest(sqlStatementCounter.currentThread() - before);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dp.banking.banking_backend.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Instrumentation des chemins critiques : un histogramme de latence par opération des services,
+ * des compteurs de refus métier et la distribution du nombre d'instructions SQL par requête HTTP.
+ * Les métriques sont indexées par le rang de leur énumération (ni table de hachage ni allocation à l'enregistrement).
+ */
+@Component
+public class ServiceMetrics {
+    
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    
+    private final LatencyHistogram[] timers = new LatencyHistogram[Timer.values().length];
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+    private final LatencyHistogram statementsPerRequest = new LatencyHistogram();
+    
+    /**
+     * Opérations chronométrées ; pour les méthodes transactionnelles, la durée mesurée exclut le commit
+     */
+    public enum Timer {
+        FIND_BY_ID("findById"),
+        FIND_BY_ACCOUNT_NUMBER("findByAccountNumber"),
+        SAVE("save"),
+        UPDATE("update"),
+        DELETE("deleteById"),
+        DEPOSIT("deposit"),
+        WITHDRAW("withdraw"),
+        TRANSFER("transfer"),
+        OPERATOR_FIND_BY_ID("operator.findById"),
+        OPERATOR_SAVE("operator.save"),
+        OPERATOR_UPDATE("operator.update");
+        
+        private final String metricName;
+        
+        Timer(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+    
+    public enum Counter {
+        INSUFFICIENT_FUNDS("insufficientFunds"),
+        DUPLICATE_ACCOUNT_NUMBER("duplicateAccountNumber"),
+        DUPLICATE_OPERATOR_EMAIL("duplicateOperatorEmail");
+        
+        private final String metricName;
+        
+        Counter(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+    
+    /**
+     * Latences en microsecondes ; {@code sqlStatementsPerRequest} en nombre d'instructions
+     */
+    public record Snapshot(Map<String, LatencyHistogram.Snapshot> latencyMicros,
+                           Map<String, Long> counters,
+                           LatencyHistogram.Snapshot sqlStatementsPerRequest) {
+    }
+    
+    public ServiceMetrics() {
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Enregistre la durée écoulée depuis {@code startNanos} (valeur de {@link System#nanoTime()})
+     */
+    public void record(Timer timer, long startNanos) {
+        timers[timer.ordinal()].record(System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Exécute {@code action} et enregistre sa durée, qu'elle aboutisse ou lève une exception
+     */
+    public <T> T time(Timer timer, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(timer, start);
+        }
+    }
+    
+    public void time(Timer timer, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(timer, start);
+        }
+    }
+    
+    public void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+    
+    public void recordStatementsPerRequest(long statements) {
+        statementsPerRequest.record(statements);
+    }
+    
+    public Snapshot snapshot() {
+        Map<String, LatencyHistogram.Snapshot> latencies = new LinkedHashMap<>();
+        for (Timer timer : Timer.values()) {
+            latencies.put(timer.metricName, timers[timer.ordinal()].snapshot(NANOS_PER_MICRO));
+        }
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            values.put(counter.metricName, counters[counter.ordinal()].sum());
+        }
+        return new Snapshot(latencies, values, statementsPerRequest.snapshot(1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.dp.banking.banking_backend.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compte les instructions SQL préparées par Hibernate, au total et pour le thread courant.
+ * Le compteur du thread permet de mesurer les allers-retours d'une requête HTTP (un thread par requête) ;
+ * les accès directs par {@code JdbcTemplate} (traitements de masse) et le travail délégué aux shards
+ * du moteur de registre n'y figurent pas.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    
+    private static final ThreadLocal<long[]> CURRENT_THREAD = ThreadLocal.withInitial(() -> new long[1]);
+    
+    private final LongAdder total = new LongAdder();
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        CURRENT_THREAD.get()[0]++;
+        total.increment();
+        return sql;
+    }
+    
+    /**
+     * Nombre d'instructions préparées jusqu'ici par le thread courant
+     */
+    public long currentThread() {
+        return CURRENT_THREAD.get()[0];
+    }
+    
+    public long total() {
+        return total.sum();
+    }
+}
@@ -0,0 +1,157 @@
+package com.dp.banking.banking_backend.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Migrations versionnées du schéma, à la place de {@code ddl-auto} pour une base persistante.
+ * Les scripts {@code db/migration/V<version>__<description>.sql} sont appliqués une seule fois, dans l'ordre
+ * des versions, et consignés dans {@code schema_history} avec leur somme de contrôle : un script modifié
+ * après son application bloque le démarrage plutôt que de laisser le schéma diverger.
+ * Les migrations s'exécutent avant la création de l'EntityManagerFactory (voir {@link SchemaMigratorDetector}),
+ * qui peut alors valider le schéma ({@code ddl-auto=validate}).
+ * <p>
+ * Le migrateur n'utilise que la {@link DataSource} : les composants JDBC et JPA de l'application
+ * dépendent de lui et ne sont pas encore créés.
+ */
+@Component
+@Slf4j
+public class SchemaMigrator {
+    
+    static final String LOCATION = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String CREATE_HISTORY = """
+            CREATE TABLE IF NOT EXISTS schema_history (
+                version INT NOT NULL PRIMARY KEY,
+                description VARCHAR(200) NOT NULL,
+                checksum BIGINT NOT NULL,
+                installed_at TIMESTAMP NOT NULL,
+                execution_ms BIGINT NOT NULL)""";
+    private static final String INSERT_HISTORY =
+            "INSERT INTO schema_history (version, description, checksum, installed_at, execution_ms) VALUES (?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    
+    /**
+     * Script de migration et somme de contrôle (CRC32) de son contenu
+     */
+    record Migration(int version, String description, long checksum, Resource resource) {
+    }
+    
+    public SchemaMigrator(DataSource dataSource,
+                          @Value("${banking.schema.migrations.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+        this.enabled = enabled;
+    }
+    
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            migrate();
+        }
+    }
+    
+    /**
+     * Applique les migrations en attente
+     *
+     * @return le nombre de migrations appliquées
+     * @throws IllegalStateException si une migration déjà appliquée a été modifiée
+     */
+    public int migrate() {
+        jdbcTemplate.execute(CREATE_HISTORY);
+        Map<Integer, Long> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, checksum FROM schema_history",
+                (RowCallbackHandler) rs -> applied.put(rs.getInt(1), rs.getLong(2)));
+        
+        int count = 0;
+        int current = 0;
+        for (Migration migration : load()) {
+            Long checksum = applied.get(migration.version());
+            if (checksum != null && checksum != migration.checksum()) {
+                throw new IllegalStateException("Migration V" + migration.version() + " modifiée après son application");
+            }
+            if (checksum == null) {
+                apply(migration);
+                count++;
+            }
+            current = migration.version();
+        }
+        if (count > 0) {
+            log.info("Schéma migré en V{} ({} migrations appliquées)", current, count);
+        } else {
+            log.info("Schéma à jour (V{})", current);
+        }
+        return count;
+    }
+    
+    /**
+     * Exécute le script puis le consigne dans la même transaction (les DDL H2 sont validés immédiatement :
+     * un script en échec n'est pas consigné et doit être corrigé avant de relancer l'application)
+     */
+    private void apply(Migration migration) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.resource(), StandardCharsets.UTF_8));
+                return null;
+            });
+            jdbcTemplate.update(INSERT_HISTORY, migration.version(), migration.description(), migration.checksum(),
+                    Timestamp.valueOf(LocalDateTime.now()), (System.nanoTime() - start) / 1_000_000);
+        });
+        log.info("Migration V{} ({}) appliquée", migration.version(), migration.description());
+    }
+    
+    static List<Migration> load() {
+        try {
+            List<Migration> migrations = new ArrayList<>();
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+                if (!matcher.matches()) {
+                    throw new IllegalStateException("Nom de migration invalide: " + resource.getFilename());
+                }
+                CRC32 crc = new CRC32();
+                crc.update(resource.getContentAsByteArray());
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                        crc.getValue(), resource));
+            }
+            migrations.sort(Comparator.comparingInt(Migration::version));
+            for (int i = 1; i < migrations.size(); i++) {
+                if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                    throw new IllegalStateException("Version de migration en double: V" + migrations.get(i).version());
+                }
+            }
+            return migrations;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture des migrations impossible", e);
+        }
+    }
+}
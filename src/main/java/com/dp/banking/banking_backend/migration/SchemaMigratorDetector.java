@@ -0,0 +1,17 @@
+package com.dp.banking.banking_backend.migration;
+
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+
+import java.util.Set;
+
+/**
+ * Déclare {@link SchemaMigrator} comme initialiseur de base (META-INF/spring.factories) : l'EntityManagerFactory
+ * et les composants JDBC de Spring Boot ne sont créés qu'après les migrations
+ */
+class SchemaMigratorDetector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+    
+    @Override
+    protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+        return Set.of(SchemaMigrator.class);
+    }
+}
@@ -9,7 +9,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -23,9 +22,8 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @NotBlank(message = "Le numéro de compte ne peut pas être vide")
-    @Size(min = 10, max = 20, message = "Le numéro de compte doit contenir entre 10 et 20 caractères")
-    @Column(name = "account_number", nullable = false, unique = true, length = 20)
+    @Size(min = 10, max = 34, message = "Le numéro de compte doit contenir entre 10 et 34 caractères")
+    @Column(name = "account_number", nullable = false, unique = true, length = 34)
     private String accountNumber;
     
     @NotBlank(message = "Le nom du titulaire ne peut pas être vide")
@@ -36,7 +34,7 @@ public class Account {
     @NotNull(message = "Le solde ne peut pas être null")
     @DecimalMin(value = "0.0", inclusive = true, message = "Le solde ne peut pas être négatif")
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
     
     @Enumerated(EnumType.STRING)
     @Column(name = "account_type", nullable = false)
@@ -51,6 +49,9 @@ public class Account {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    @Version
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -62,6 +63,13 @@ public class Account {
         updatedAt = LocalDateTime.now();
     }
     
+    /**
+     * Groupe de validation appliqué par JPA aux mises à jour : aucune contrainte n'en fait partie,
+     * le solde pouvant passer sous zéro dans la limite du découvert autorisé ({@code banking.rules.*})
+     */
+    public interface BalanceUpdate {
+    }
+    
     public enum AccountType {
         CHECKING("Compte courant"),
         SAVINGS("Compte épargne"),
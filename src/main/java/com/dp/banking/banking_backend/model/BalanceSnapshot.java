@@ -0,0 +1,47 @@
+package com.dp.banking.banking_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Solde d'un compte relevé par un instantané.
+ * Ligne compacte (exécution, compte, solde, date de relevé) sans identifiant technique ;
+ * l'index (compte, date de relevé) sert la recherche de l'instantané le plus proche d'une date.
+ */
+@Entity
+@Immutable
+@Table(name = "balance_snapshots",
+        indexes = @Index(name = "idx_snapshot_account_time", columnList = "account_id, captured_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private Money balance;
+    
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt;
+    
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        
+        @Column(name = "run_id", nullable = false)
+        private Long runId;
+        
+        @Column(name = "account_id", nullable = false)
+        private Long accountId;
+    }
+}
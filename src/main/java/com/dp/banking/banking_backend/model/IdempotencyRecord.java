@@ -0,0 +1,44 @@
+package com.dp.banking.banking_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trace persistante d'une requête porteuse d'une clé d'idempotence.
+ * La ligne est réservée avant l'exécution (sans statut de réponse) puis complétée par la réponse rendue :
+ * une requête dont la réservation existe déjà n'est jamais exécutée une seconde fois.
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+    
+    @Column(name = "request_fingerprint", nullable = false, length = 255)
+    private String requestFingerprint;
+    
+    @Column(name = "response_status")
+    private Integer responseStatus;
+    
+    @Column(name = "response_body", length = 4000)
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+}
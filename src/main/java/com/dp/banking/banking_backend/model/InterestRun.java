@@ -0,0 +1,57 @@
+package com.dp.banking.banking_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Traitement des intérêts d'une date de valeur.
+ * La ligne est réservée avant la première tranche (clé primaire sur la date) puis complétée par le bilan :
+ * une date déjà réservée n'est jamais traitée une seconde fois, même si le traitement a échoué en cours de route.
+ */
+@Entity
+@Table(name = "interest_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestRun {
+    
+    @Id
+    @Column(name = "value_date")
+    private LocalDate valueDate;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "account_count")
+    private Long accountCount;
+    
+    @Column(name = "interest_credited")
+    private Long interestCredited;
+    
+    @Column(name = "fees_charged")
+    private Long feesCharged;
+    
+    @Column(name = "fees_rejected")
+    private Long feesRejected;
+    
+    @Column(name = "total_interest", precision = 15, scale = 2)
+    private Money totalInterest;
+    
+    @Column(name = "total_fees", precision = 15, scale = 2)
+    private Money totalFees;
+    
+    @Column(name = "elapsed_ms")
+    private Long elapsedMs;
+    
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
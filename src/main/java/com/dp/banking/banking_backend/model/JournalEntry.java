@@ -0,0 +1,54 @@
+package com.dp.banking.banking_backend.model;
+
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Écriture du journal des mouvements (append-only).
+ * Ligne compacte : ni numéro de compte ni libellé, le type est stocké par son rang.
+ * L'index (compte, date, ID) couvre le parcours de l'historique d'un compte par plage de dates.
+ */
+@Entity
+@Immutable
+@Table(name = "journal_entries",
+        indexes = @Index(name = "idx_journal_account_time", columnList = "account_id, occurred_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entry_seq")
+    @SequenceGenerator(name = "journal_entry_seq", sequenceName = "journal_entry_seq", allocationSize = 1000)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private OperationType type;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private Money amount;
+    
+    @Column(name = "balance_after", nullable = false, precision = 15, scale = 2)
+    private Money balanceAfter;
+    
+    @Column(name = "counterparty_account_id")
+    private Long counterpartyAccountId;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    public static JournalEntry from(BankingOperationEvent event) {
+        return new JournalEntry(null, event.accountId(), event.type(), event.amount(), event.balanceAfter(),
+                event.counterpartyAccountId(), event.occurredAt());
+    }
+}
@@ -0,0 +1,299 @@
+package com.dp.banking.banking_backend.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montant en virgule fixe, stocké en centimes dans un {@code long}.
+ * Remplace {@link BigDecimal} sur les chemins critiques : une opération arithmétique ne crée
+ * qu'un objet de 16 octets, sans {@code BigInteger} ni calcul d'échelle, et tout dépassement
+ * de capacité est détecté. Persisté en {@code DECIMAL(15,2)} par {@link MoneyConverter}
+ * et exposé en JSON comme un nombre décimal ({@code 1234.56}).
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+@Schema(type = "number", format = "decimal", example = "1234.56")
+public final class Money extends Number implements Comparable<Money> {
+    
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+    
+    private static final long CENTS_PER_UNIT = 100;
+    private static final int MAX_LENGTH = 21;
+    
+    private final long minorUnits;
+    
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+    
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+    
+    public static Money of(long units) {
+        return ofMinor(multiply(units, CENTS_PER_UNIT));
+    }
+    
+    /**
+     * @throws IllegalArgumentException si le montant a plus de deux décimales significatives ou dépasse la capacité
+     */
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofMinor(amount.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Montant invalide (au plus " + SCALE + " décimales): " + amount.toPlainString(), e);
+        }
+    }
+    
+    /**
+     * Lecture directe de la forme décimale ({@code -12}, {@code 12.5}, {@code 12.50}) sans passer par {@link BigDecimal} ;
+     * les notations exponentielles sont déléguées à {@link #of(BigDecimal)}.
+     *
+     * @throws IllegalArgumentException si le texte n'est pas un montant valide
+     */
+    public static Money of(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        for (; i < length && isDigit(text.charAt(i)); i++, digits++) {
+            units = addDigit(units, text.charAt(i));
+        }
+        long cents = 0;
+        int decimals = 0;
+        if (i < length && text.charAt(i) == '.') {
+            for (i++; i < length && isDigit(text.charAt(i)); i++, decimals++) {
+                char c = text.charAt(i);
+                if (decimals < SCALE) {
+                    cents = cents * 10 + (c - '0');
+                } else if (c != '0') {
+                    throw new IllegalArgumentException("Montant invalide (au plus " + SCALE + " décimales): " + text);
+                }
+            }
+        }
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            try {
+                return of(new BigDecimal(text.toString()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Montant invalide: " + text, e);
+            }
+        }
+        if (i != length || digits + decimals == 0) {
+            throw new IllegalArgumentException("Montant invalide: " + text);
+        }
+        for (; decimals < SCALE; decimals++) {
+            cents *= 10;
+        }
+        long minor = add(multiply(units, CENTS_PER_UNIT), cents);
+        return ofMinor(negative ? -minor : minor);
+    }
+    
+    public long minorUnits() {
+        return minorUnits;
+    }
+    
+    public Money plus(Money other) {
+        return ofMinor(add(minorUnits, other.minorUnits));
+    }
+    
+    public Money minus(Money other) {
+        try {
+            return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+        } catch (ArithmeticException e) {
+            throw overflow(e);
+        }
+    }
+    
+    public Money negate() {
+        try {
+            return ofMinor(Math.negateExact(minorUnits));
+        } catch (ArithmeticException e) {
+            throw overflow(e);
+        }
+    }
+    
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+    
+    /**
+     * Produit par un taux (intérêts, frais proportionnels), arrondi au centime
+     */
+    public Money multiply(BigDecimal rate, RoundingMode roundingMode) {
+        return of(toBigDecimal().multiply(rate).setScale(SCALE, roundingMode));
+    }
+    
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+    
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+    
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minorUnits == minorUnits;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+    
+    @Override
+    public String toString() {
+        char[] buffer = new char[MAX_LENGTH];
+        int start = format(buffer);
+        return new String(buffer, start, MAX_LENGTH - start);
+    }
+    
+    /**
+     * Ajoute la forme décimale à {@code builder} sans chaîne ni tampon intermédiaire
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        if (minorUnits < 0) {
+            builder.append('-');
+        }
+        long value = Math.abs(minorUnits);
+        long cents = value % CENTS_PER_UNIT;
+        return builder.append(value / CENTS_PER_UNIT)
+                .append('.')
+                .append((char) ('0' + cents / 10))
+                .append((char) ('0' + cents % 10));
+    }
+    
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+    
+    @Override
+    public long longValue() {
+        return minorUnits / CENTS_PER_UNIT;
+    }
+    
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+    
+    @Override
+    public double doubleValue() {
+        return minorUnits / (double) CENTS_PER_UNIT;
+    }
+    
+    /**
+     * Écrit la forme décimale en fin de tampon (toujours deux décimales)
+     *
+     * @return l'indice du premier caractère écrit
+     */
+    private int format(char[] buffer) {
+        long value = Math.abs(minorUnits);
+        int position = MAX_LENGTH;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        if (minorUnits < 0) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static long addDigit(long units, char digit) {
+        return add(multiply(units, 10), digit - '0');
+    }
+    
+    private static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw overflow(e);
+        }
+    }
+    
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw overflow(e);
+        }
+    }
+    
+    private static IllegalArgumentException overflow(ArithmeticException e) {
+        return new IllegalArgumentException("Dépassement de capacité du montant", e);
+    }
+    
+    /**
+     * Écrit le montant comme un nombre JSON, sans {@link BigDecimal} ni {@link String} intermédiaire
+     */
+    static final class Serializer extends ValueSerializer<Money> {
+        
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializationContext context) throws JacksonException {
+            char[] buffer = new char[MAX_LENGTH];
+            int start = value.format(buffer);
+            generator.writeNumber(buffer, start, MAX_LENGTH - start);
+        }
+    }
+    
+    /**
+     * Accepte un nombre JSON ou une chaîne ({@code 12.34}, {@code "12.34"}) ;
+     * un montant à plus de deux décimales est rejeté plutôt qu'arrondi
+     */
+    static final class Deserializer extends ValueDeserializer<Money> {
+        
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+            try {
+                return switch (parser.currentToken()) {
+                    case VALUE_NUMBER_INT -> of(parser.getLongValue());
+                    case VALUE_NUMBER_FLOAT, VALUE_STRING -> of(parser.getString().trim());
+                    default -> (Money) context.handleUnexpectedToken(Money.class, parser);
+                };
+            } catch (IllegalArgumentException e) {
+                return (Money) context.handleWeirdStringValue(Money.class, parser.getString(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.dp.banking.banking_backend.model;
+
+/**
+ * Types de mouvements appliqués au solde d'un compte.
+ * Le journal stocke le rang de la constante : ne pas réordonner, ajouter les nouveaux types à la fin.
+ */
+public enum OperationType {
+    DEPOSIT("Dépôt", true),
+    WITHDRAWAL("Retrait", true),
+    TRANSFER_OUT("Virement émis", true),
+    TRANSFER_IN("Virement reçu", true),
+    INTEREST("Intérêts", false),
+    FEE("Frais de tenue de compte", false);
+    
+    private final String displayName;
+    private final boolean notified;
+    
+    OperationType(String displayName, boolean notified) {
+        this.displayName = displayName;
+        this.notified = notified;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Les mouvements initiés par le client sont notifiés ; les écritures automatiques (intérêts, frais) ne le sont pas
+     */
+    public boolean isNotified() {
+        return notified;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dp.banking.banking_backend.model;
+
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de l'outbox transactionnelle : un mouvement de solde, écrit dans la même transaction que lui.
+ * L'ID est attribué par l'application et croît dans l'ordre d'écriture ; il sert de position de lecture.
+ */
+@Entity
+@Immutable
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(name = "account_number", nullable = false, length = 34)
+    private String accountNumber;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private OperationType eventType;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private Money amount;
+    
+    @Column(name = "balance_after", nullable = false, precision = 15, scale = 2)
+    private Money balanceAfter;
+    
+    @Column(name = "counterparty_account_id")
+    private Long counterpartyAccountId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public static OutboxEvent from(Long id, BankingOperationEvent event) {
+        return new OutboxEvent(id, event.accountId(), event.accountNumber(), event.type(), event.amount(),
+                event.balanceAfter(), event.counterpartyAccountId(), event.occurredAt());
+    }
+}
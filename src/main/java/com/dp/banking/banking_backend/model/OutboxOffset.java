@@ -0,0 +1,29 @@
+package com.dp.banking.banking_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point de reprise d'un lecteur de l'outbox : ID du dernier événement traité
+ */
+@Entity
+@Table(name = "outbox_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxOffset {
+    
+    @Id
+    @Column(length = 100)
+    private String consumer;
+    
+    @Column(nullable = false)
+    private Long position;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
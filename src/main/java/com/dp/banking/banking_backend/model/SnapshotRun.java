@@ -0,0 +1,32 @@
+package com.dp.banking.banking_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exécution d'un instantané des soldes
+ */
+@Entity
+@Table(name = "snapshot_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "account_count", nullable = false)
+    private Long accountCount;
+}
@@ -0,0 +1,35 @@
+package com.dp.banking.banking_backend.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Envoi simulé : les notifications sont seulement journalisées.
+ * Utilisé pour tout canal sans {@link NotificationSender} déclaré.
+ */
+@Slf4j
+class LoggingNotificationSender implements NotificationSender {
+    
+    private final Notification.Channel channel;
+    
+    LoggingNotificationSender(Notification.Channel channel) {
+        this.channel = channel;
+    }
+    
+    @Override
+    public Notification.Channel channel() {
+        return channel;
+    }
+    
+    @Override
+    public void send(List<Notification> batch) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        for (Notification notification : batch) {
+            log.info("Envoi {} à {} - Sujet: {} - Message: {}", channel, notification.recipient(),
+                    notification.subject(), notification.message());
+        }
+    }
+}
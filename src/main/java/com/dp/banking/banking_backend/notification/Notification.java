@@ -0,0 +1,37 @@
+package com.dp.banking.banking_backend.notification;
+
+import java.util.List;
+
+/**
+ * Notification à envoyer sur un canal.
+ * Le message est un modèle {@link String#format} dont la mise en forme est différée
+ * jusqu'à l'envoi, sur le thread du canal, hors du chemin transactionnel.
+ */
+public record Notification(Channel channel, String recipient, String subject, String template, Object... arguments) {
+    
+    public enum Channel {
+        EMAIL,
+        SMS,
+        PUSH
+    }
+    
+    public String message() {
+        return arguments == null || arguments.length == 0 ? template : String.format(template, arguments);
+    }
+    
+    /**
+     * Regroupe plusieurs notifications d'un même destinataire en une seule
+     */
+    static Notification coalesce(List<Notification> notifications) {
+        Notification first = notifications.get(0);
+        StringBuilder message = new StringBuilder();
+        for (Notification notification : notifications) {
+            if (!message.isEmpty()) {
+                message.append('\n');
+            }
+            message.append(notification.message());
+        }
+        return new Notification(first.channel(), first.recipient(),
+                notifications.size() + " notifications - " + first.subject(), message.toString());
+    }
+}
@@ -0,0 +1,197 @@
+package com.dp.banking.banking_backend.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acheminement asynchrone des notifications.
+ * Chaque canal possède sa file bornée et son thread d'envoi : l'appelant ne fait que déposer
+ * la notification, un canal lent ne ralentit donc ni les opérations bancaires ni les autres canaux.
+ * Le thread d'un canal vide sa file par lots, regroupe les notifications d'un même destinataire
+ * et confie le lot à l'expéditeur du canal.
+ */
+@Component
+@Slf4j
+public class NotificationPipeline {
+    
+    /**
+     * Comportement lorsque la file d'un canal est pleine
+     */
+    public enum OverflowPolicy {
+        /** La nouvelle notification est abandonnée */
+        DROP_NEWEST,
+        /** La plus ancienne notification en attente est abandonnée au profit de la nouvelle */
+        DROP_OLDEST,
+        /** L'appelant attend une place au plus {@code block-timeout-ms}, puis la notification est abandonnée */
+        BLOCK
+    }
+    
+    public record Stats(long submitted, long dropped, long sent, long failed, int pending) {
+    }
+    
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final Map<Notification.Channel, ChannelDispatcher> dispatchers = new EnumMap<>(Notification.Channel.class);
+    
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    
+    private volatile boolean running;
+    
+    public NotificationPipeline(List<NotificationSender> senders,
+                                @Value("${banking.notification.queue-capacity:10000}") int queueCapacity,
+                                @Value("${banking.notification.batch-size:100}") int batchSize,
+                                @Value("${banking.notification.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                                @Value("${banking.notification.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        
+        Map<Notification.Channel, NotificationSender> byChannel = new EnumMap<>(Notification.Channel.class);
+        senders.forEach(sender -> byChannel.put(sender.channel(), sender));
+        for (Notification.Channel channel : Notification.Channel.values()) {
+            NotificationSender sender = byChannel.getOrDefault(channel, new LoggingNotificationSender(channel));
+            dispatchers.put(channel, new ChannelDispatcher(channel, sender, queueCapacity));
+        }
+    }
+    
+    @PostConstruct
+    void start() {
+        running = true;
+        dispatchers.values().forEach(dispatcher -> dispatcher.thread.start());
+        log.info("Acheminement des notifications démarré (politique de débordement: {})", overflowPolicy);
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            dispatcher.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    /**
+     * Dépose une notification dans la file de son canal sans attendre son envoi.
+     *
+     * @return {@code false} si la notification a été abandonnée faute de place
+     */
+    public boolean submit(Notification notification) {
+        submitted.increment();
+        BlockingQueue<Notification> queue = dispatchers.get(notification.channel()).queue;
+        if (queue.offer(notification)) {
+            return true;
+        }
+        boolean accepted = switch (overflowPolicy) {
+            case DROP_NEWEST -> false;
+            case DROP_OLDEST -> {
+                if (queue.poll() != null) {
+                    dropped.increment();
+                }
+                yield queue.offer(notification);
+            }
+            case BLOCK -> {
+                try {
+                    yield queue.offer(notification, blockTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    yield false;
+                }
+            }
+        };
+        if (!accepted) {
+            dropped.increment();
+            log.debug("Notification {} abandonnée pour {} : file pleine", notification.channel(), notification.recipient());
+        }
+        return accepted;
+    }
+    
+    public Stats stats() {
+        int pending = 0;
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            pending += dispatcher.queue.size();
+        }
+        return new Stats(submitted.sum(), dropped.sum(), sent.sum(), failed.sum(), pending);
+    }
+    
+    private final class ChannelDispatcher implements Runnable {
+        
+        private final Notification.Channel channel;
+        private final NotificationSender sender;
+        private final BlockingQueue<Notification> queue;
+        private final Thread thread;
+        
+        ChannelDispatcher(Notification.Channel channel, NotificationSender sender, int queueCapacity) {
+            this.channel = channel;
+            this.sender = sender;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "notification-" + channel.name().toLowerCase());
+            this.thread.setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            List<Notification> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Notification first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    dispatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+        
+        private void dispatch(List<Notification> batch) {
+            List<Notification> coalesced = coalesce(batch);
+            try {
+                sender.send(coalesced);
+                sent.add(coalesced.size());
+            } catch (RuntimeException e) {
+                failed.add(coalesced.size());
+                log.warn("Échec de l'envoi de {} notifications {}", coalesced.size(), channel, e);
+            }
+        }
+    }
+    
+    /**
+     * Un seul message par destinataire et par lot, dans l'ordre d'arrivée
+     */
+    static List<Notification> coalesce(List<Notification> batch) {
+        if (batch.size() == 1) {
+            return List.of(batch.get(0));
+        }
+        Map<String, List<Notification>> byRecipient = new LinkedHashMap<>();
+        for (Notification notification : batch) {
+            byRecipient.computeIfAbsent(notification.recipient(), recipient -> new ArrayList<>(1)).add(notification);
+        }
+        List<Notification> coalesced = new ArrayList<>(byRecipient.size());
+        for (List<Notification> notifications : byRecipient.values()) {
+            coalesced.add(notifications.size() == 1 ? notifications.get(0) : Notification.coalesce(notifications));
+        }
+        return coalesced;
+    }
+}
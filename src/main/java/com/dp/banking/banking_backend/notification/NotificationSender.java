@@ -0,0 +1,14 @@
+package com.dp.banking.banking_backend.notification;
+
+import java.util.List;
+
+/**
+ * Point d'extension : envoi effectif d'un lot de notifications sur un canal (email, SMS, push).
+ * Toute implémentation déclarée comme bean remplace l'envoi journalisé par défaut de son canal.
+ */
+public interface NotificationSender {
+    
+    Notification.Channel channel();
+    
+    void send(List<Notification> batch);
+}
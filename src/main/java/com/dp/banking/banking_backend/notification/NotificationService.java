@@ -1,49 +1,67 @@
 package com.dp.banking.banking_backend.notification;
 
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Service de notification pour le pattern Observer
- * Gère les notifications pour les opérations bancaires
+ * Gère les notifications pour les opérations bancaires.
+ * Les notifications sont déposées dans {@link NotificationPipeline} et envoyées de façon asynchrone :
+ * aucune méthode n'attend l'envoi, et la mise en forme des messages est faite par le thread du canal.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
     
+    private static final String OPERATION_SUBJECT = "Opération bancaire";
+    private static final String OPERATION_TEMPLATE = "Opération %s de %s effectuée sur le compte %s";
+    
+    private final NotificationPipeline pipeline;
+    
     /**
      * Envoie une notification par email
      */
     public void sendEmailNotification(String email, String subject, String message) {
-        log.info("Envoi d'email à {} - Sujet: {} - Message: {}", email, subject, message);
-        // Implémentation future : intégration avec un service d'email
+        pipeline.submit(new Notification(Notification.Channel.EMAIL, email, subject, message));
     }
     
     /**
      * Envoie une notification SMS
      */
     public void sendSmsNotification(String phoneNumber, String message) {
-        log.info("Envoi de SMS au {} - Message: {}", phoneNumber, message);
-        // Implémentation future : intégration avec un service SMS
+        pipeline.submit(new Notification(Notification.Channel.SMS, phoneNumber, null, message));
     }
     
     /**
      * Envoie une notification push
      */
     public void sendPushNotification(String userId, String title, String message) {
-        log.info("Envoi de notification push à {} - Titre: {} - Message: {}", userId, title, message);
-        // Implémentation future : intégration avec un service de notifications push
+        pipeline.submit(new Notification(Notification.Channel.PUSH, userId, title, message));
     }
     
     /**
      * Notifie une opération bancaire
      */
     public void notifyBankingOperation(String accountNumber, String operation, String amount) {
-        String message = String.format("Opération %s de %s effectuée sur le compte %s", 
-                operation, amount, accountNumber);
-        log.info("Notification d'opération bancaire: {}", message);
-        
-        // Ici on pourrait implémenter la logique pour déterminer
-        // quel type de notification envoyer selon les préférences du client
+        pipeline.submit(new Notification(Notification.Channel.PUSH, accountNumber, OPERATION_SUBJECT,
+                OPERATION_TEMPLATE, operation, amount, accountNumber));
+    }
+    
+    /**
+     * Notifie chaque mouvement une fois sa transaction validée ; un mouvement annulé n'est jamais notifié.
+     * Un événement publié hors transaction est notifié aussitôt.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBankingOperation(BankingOperationEvent event) {
+        if (!event.type().isNotified()) {
+            return;
+        }
+        pipeline.submit(new Notification(Notification.Channel.PUSH, event.accountNumber(), OPERATION_SUBJECT,
+                OPERATION_TEMPLATE, event.type().getDisplayName(), event.amount(), event.accountNumber()));
     }
-}
\ No newline at end of file
+}
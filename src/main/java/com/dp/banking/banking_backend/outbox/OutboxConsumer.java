@@ -0,0 +1,15 @@
+package com.dp.banking.banking_backend.outbox;
+
+import com.dp.banking.banking_backend.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Point d'extension : consommateur interne des événements relayés depuis l'outbox.
+ * Les lots arrivent dans l'ordre des IDs ; un lot en échec est représenté tant qu'il n'est pas accepté
+ * (livraison au moins une fois), le consommateur doit donc être idempotent.
+ */
+public interface OutboxConsumer {
+    
+    void accept(List<OutboxEvent> batch);
+}
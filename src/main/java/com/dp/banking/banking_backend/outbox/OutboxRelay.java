@@ -0,0 +1,185 @@
+package com.dp.banking.banking_backend.outbox;
+
+import com.dp.banking.banking_backend.model.OutboxEvent;
+import com.dp.banking.banking_backend.model.OutboxOffset;
+import com.dp.banking.banking_backend.repository.OutboxEventRepository;
+import com.dp.banking.banking_backend.repository.OutboxOffsetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relais de l'outbox vers les {@link OutboxConsumer} de l'application.
+ * Un thread unique lit les événements validés par lots ordonnés au-delà de son point de reprise
+ * (high-water mark), les livre, puis enregistre la nouvelle position en base : après un redémarrage
+ * la lecture reprend exactement là où elle s'était arrêtée. Les événements relayés sont purgés
+ * une fois la durée de rétention écoulée.
+ * <p>
+ * Sans consommateur interne, le relais ne livre rien : seuls les lecteurs de {@code GET /api/outbox} lisent
+ * les événements et leur position n'est pas connue, la purge est donc désactivée. Le plus grand ID purgé est
+ * enregistré ({@link #purgedUpTo()}) pour répondre 410 à un lecteur dont la position est en deçà.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    
+    static final String RELAY_CONSUMER = "relay";
+    
+    /**
+     * Ligne de {@code outbox_offsets} portant le plus grand ID purgé
+     */
+    static final String PURGE_HORIZON = "purge";
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private final TransactionalOutbox outbox;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxOffsetRepository outboxOffsetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxConsumer> consumers;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final Duration retention;
+    private final Thread thread;
+    
+    private volatile boolean running;
+    private volatile long position;
+    
+    public OutboxRelay(TransactionalOutbox outbox,
+                       OutboxEventRepository outboxEventRepository,
+                       OutboxOffsetRepository outboxOffsetRepository,
+                       TransactionTemplate transactionTemplate,
+                       List<OutboxConsumer> consumers,
+                       @Value("${banking.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${banking.outbox.relay.batch-size:1000}") int batchSize,
+                       @Value("${banking.outbox.relay.poll-interval-ms:100}") long pollIntervalMs,
+                       @Value("${banking.outbox.retention-minutes:60}") long retentionMinutes) {
+        this.outbox = outbox;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxOffsetRepository = outboxOffsetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.consumers = consumers;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.thread = new Thread(this::run, "outbox-relay");
+    }
+    
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        position = outboxOffsetRepository.findById(RELAY_CONSUMER)
+                .orElseGet(() -> outboxOffsetRepository.save(new OutboxOffset(RELAY_CONSUMER, 0L, LocalDateTime.now())))
+                .getPosition();
+        running = true;
+        thread.start();
+        log.info("Relais de l'outbox démarré à la position {} ({} consommateurs)", position, consumers.size());
+        if (consumers.isEmpty()) {
+            log.info("Aucun consommateur interne : les événements de l'outbox ne sont pas purgés");
+        }
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread.isAlive()) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    /**
+     * ID du dernier événement relayé
+     */
+    public long position() {
+        return position;
+    }
+    
+    /**
+     * Plus grand ID d'événement purgé (0 si aucun) : un lecteur positionné avant cet ID a pu manquer des événements
+     */
+    public long purgedUpTo() {
+        return outboxOffsetRepository.findById(PURGE_HORIZON).map(OutboxOffset::getPosition).orElse(0L);
+    }
+    
+    private void run() {
+        long lastPurge = System.nanoTime();
+        while (running) {
+            try {
+                int relayed = relayBatch();
+                if (System.nanoTime() - lastPurge > PURGE_INTERVAL_NANOS) {
+                    purge();
+                    lastPurge = System.nanoTime();
+                }
+                if (relayed < batchSize) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Échec du relais de l'outbox à la position {}, nouvel essai", position, e);
+                try {
+                    Thread.sleep(pollIntervalMs * 10);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Livre le lot suivant puis avance le point de reprise
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = outbox.read(position, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (OutboxConsumer consumer : consumers) {
+            consumer.accept(batch);
+        }
+        long last = batch.get(batch.size() - 1).getId();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxOffsetRepository.advance(RELAY_CONSUMER, last, LocalDateTime.now()));
+        position = last;
+        return batch.size();
+    }
+    
+    /**
+     * Supprime les événements relayés plus anciens que la rétention et enregistre le plus grand ID supprimé.
+     * Sans consommateur, rien n'est supprimé : la position des lecteurs de l'API n'est pas suivie.
+     */
+    int purge() {
+        if (consumers.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> {
+            Long horizon = outboxEventRepository.findLastRelayedBefore(position, before);
+            if (horizon == null) {
+                return 0;
+            }
+            int deleted = outboxEventRepository.deleteRelayedBefore(horizon, before);
+            if (outboxOffsetRepository.advance(PURGE_HORIZON, horizon, LocalDateTime.now()) == 0) {
+                outboxOffsetRepository.save(new OutboxOffset(PURGE_HORIZON, horizon, LocalDateTime.now()));
+            }
+            return deleted;
+        });
+        if (purged != null && purged > 0) {
+            log.debug("{} événements relayés purgés de l'outbox", purged);
+        }
+        return purged == null ? 0 : purged;
+    }
+}
@@ -0,0 +1,145 @@
+package com.dp.banking.banking_backend.outbox;
+
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.model.OutboxEvent;
+import com.dp.banking.banking_backend.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outbox transactionnelle des mouvements de solde.
+ * Chaque {@link BankingOperationEvent} est inséré dans la transaction qui l'a publié : l'événement existe
+ * si et seulement si le mouvement est validé. Les IDs sont réservés par blocs (hi/lo sur
+ * {@code outbox_event_seq}) et les insertions partent en lot JDBC au commit, sans aller-retour supplémentaire.
+ * <p>
+ * Les IDs sont attribués avant le commit : un ID plus petit peut donc devenir visible après un plus grand.
+ * Les IDs des transactions en cours sont suivis en mémoire et les lecteurs ne dépassent jamais
+ * {@link #committedUpTo()}, ce qui garantit qu'aucun événement n'est sauté (valable pour une instance unique
+ * de l'application, comme la base embarquée).
+ */
+@Component
+@Slf4j
+public class TransactionalOutbox {
+    
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final long blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    
+    private long next;
+    private long limit;
+    
+    public TransactionalOutbox(EntityManager entityManager,
+                               JdbcTemplate jdbcTemplate,
+                               OutboxEventRepository outboxEventRepository,
+                               @Value("${banking.outbox.block-size:1000}") long blockSize) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxEventRepository = outboxEventRepository;
+        this.blockSize = blockSize;
+    }
+    
+    /**
+     * Le premier bloc est réservé au démarrage : tout ID attribué ensuite est supérieur
+     * aux IDs écrits par les exécutions précédentes
+     */
+    @PostConstruct
+    void init() {
+        lock.lock();
+        try {
+            reserveBlock();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Écrit l'événement dans la transaction courante (écouteur synchrone)
+     */
+    @EventListener
+    public void onBankingOperation(BankingOperationEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Un événement d'outbox doit être écrit dans la transaction du mouvement");
+        }
+        Long id = reserveId();
+        pendingIds().add(id);
+        entityManager.persist(OutboxEvent.from(id, event));
+    }
+    
+    /**
+     * Plus grand ID en deçà duquel toutes les transactions d'écriture sont terminées
+     */
+    public long committedUpTo() {
+        lock.lock();
+        try {
+            Long oldest = inFlight.ceiling(Long.MIN_VALUE);
+            return oldest == null ? next - 1 : oldest - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Lecture ordonnée des événements validés situés après {@code after}
+     */
+    public List<OutboxEvent> read(long after, int limit) {
+        return outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(after, committedUpTo(), Limit.of(limit));
+    }
+    
+    private Long reserveId() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                reserveBlock();
+            }
+            Long id = next++;
+            inFlight.add(id);
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void reserveBlock() {
+        Long hi = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR outbox_event_seq", Long.class);
+        next = hi * blockSize;
+        limit = next + blockSize;
+        log.debug("Bloc d'identifiants d'outbox réservé: [{}, {})", next, limit);
+    }
+    
+    /**
+     * IDs attribués dans la transaction courante ; ils sont libérés en une fois à la fin de la transaction
+     */
+    @SuppressWarnings("unchecked")
+    private List<Long> pendingIds() {
+        List<Long> ids = (List<Long>) TransactionSynchronizationManager.getResource(this);
+        if (ids == null) {
+            List<Long> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalOutbox.this);
+                    created.forEach(inFlight::remove);
+                }
+            });
+            ids = created;
+        }
+        return ids;
+    }
+}
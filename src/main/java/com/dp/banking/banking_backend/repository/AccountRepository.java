@@ -1,13 +1,25 @@
 package com.dp.banking.banking_backend.repository;
 
+import com.dp.banking.banking_backend.dto.AccountBalance;
 import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -16,13 +28,75 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     List<Account> findByIsActiveTrue();
     
+    /**
+     * Pagination par curseur (keyset) : comptes d'ID strictement supérieur à {@code id}
+     */
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    List<Account> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    /**
+     * Page (ID, solde) par curseur, sans charger les entités dans le contexte de persistance
+     */
+    @Query("SELECT new com.dp.banking.banking_backend.dto.AccountBalance(a.id, a.balance) FROM Account a WHERE a.id > :id ORDER BY a.id")
+    List<AccountBalance> findBalancePage(@Param("id") Long id, Limit limit);
+    
+    /**
+     * Soldes d'une plage d'IDs (parcours d'intervalle de la clé primaire)
+     */
+    @Query("SELECT new com.dp.banking.banking_backend.dto.AccountBalance(a.id, a.balance) FROM Account a WHERE a.id BETWEEN :first AND :last")
+    List<AccountBalance> findBalancesByIdBetween(@Param("first") Long first, @Param("last") Long last);
+    
+    /**
+     * Parcours en flux de tous les comptes, lus par blocs côté JDBC (à consommer dans une transaction)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a ORDER BY a.id")
+    Stream<Account> streamAll();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a WHERE a.isActive = true ORDER BY a.id")
+    Stream<Account> streamActive();
+    
     List<Account> findByAccountHolder(String accountHolder);
     
     @Query("SELECT a FROM Account a WHERE a.balance >= :minBalance")
-    List<Account> findByBalanceGreaterThanEqual(BigDecimal minBalance);
+    List<Account> findByBalanceGreaterThanEqual(Money minBalance);
     
     @Query("SELECT a FROM Account a WHERE a.accountType = :accountType AND a.isActive = true")
     List<Account> findByAccountTypeAndIsActiveTrue(Account.AccountType accountType);
     
     boolean existsByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+    
+    /**
+     * Verrouille les comptes en écriture, toujours dans l'ordre croissant des IDs pour éviter les interblocages
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdInForUpdate(Collection<Long> ids);
+    
+    /**
+     * Crédite le compte en une seule instruction UPDATE (pas de lecture préalable)
+     * @return le nombre de lignes modifiées (0 si le compte n'existe pas)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :now " +
+           "WHERE a.id = :id")
+    int credit(Long id, Money amount, LocalDateTime now);
+    
+    /**
+     * Débite le compte uniquement si le solde après débit reste au-dessus du plancher (découvert autorisé),
+     * de manière atomique
+     * @return le nombre de lignes modifiées (0 si le compte n'existe pas ou si le solde est insuffisant)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+           "WHERE a.id = :id AND a.balance - :amount >= :floor")
+    int debitIfSufficient(Long id, Money amount, Money floor, LocalDateTime now);
+}
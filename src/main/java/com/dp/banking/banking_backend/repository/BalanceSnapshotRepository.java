@@ -0,0 +1,18 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshot.Key> {
+    
+    /**
+     * Dernier relevé du compte antérieur ou égal à la date donnée
+     */
+    Optional<BalanceSnapshot> findFirstByIdAccountIdAndCapturedAtLessThanEqualOrderByCapturedAtDesc(Long accountId,
+                                                                                                   LocalDateTime at);
+}
@@ -0,0 +1,37 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    /**
+     * Réservation d'une clé en un seul INSERT : une clé déjà présente viole la clé primaire
+     */
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (idempotencyKey, requestFingerprint, createdAt) VALUES (:key, :fingerprint, :now)")
+    int reserve(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.responseBody = :body, r.completedAt = :now " +
+           "WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("status") int status, @Param("body") String body, @Param("now") LocalDateTime now);
+    
+    /**
+     * Libère une réservation restée sans réponse (échec inattendu de l'exécution)
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.responseStatus IS NULL")
+    int release(@Param("key") String key);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
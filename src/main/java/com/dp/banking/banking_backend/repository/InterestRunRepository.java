@@ -0,0 +1,22 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.InterestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface InterestRunRepository extends JpaRepository<InterestRun, LocalDate> {
+    
+    /**
+     * Réservation d'une date de valeur en un seul INSERT : une date déjà traitée viole la clé primaire
+     */
+    @Modifying
+    @Query("INSERT INTO InterestRun (valueDate, startedAt) VALUES (:valueDate, :now)")
+    int claim(@Param("valueDate") LocalDate valueDate, @Param("now") LocalDateTime now);
+}
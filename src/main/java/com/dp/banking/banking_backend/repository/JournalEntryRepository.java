@@ -0,0 +1,47 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.JournalEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Accès en lecture seule au journal : les écritures passent uniquement par
+ * {@link com.dp.banking.banking_backend.journal.TransactionJournal}, aucune modification ni suppression n'est exposée.
+ */
+@org.springframework.stereotype.Repository
+public interface JournalEntryRepository extends Repository<JournalEntry, Long> {
+    
+    Optional<JournalEntry> findById(Long id);
+    
+    /**
+     * Dernier mouvement du compte antérieur ou égal à la date donnée
+     */
+    Optional<JournalEntry> findFirstByAccountIdAndOccurredAtLessThanEqualOrderByOccurredAtDescIdDesc(Long accountId,
+                                                                                                   LocalDateTime at);
+    
+    /**
+     * Historique d'un compte sur [from, to), du plus récent au plus ancien, à partir du curseur (at, id) exclu.
+     * Parcours d'index borné sur (account_id, occurred_at, id), quelle que soit la taille du journal.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT e FROM JournalEntry e
+            WHERE e.accountId = :accountId
+              AND e.occurredAt >= :from
+              AND (e.occurredAt < :at OR (e.occurredAt = :at AND e.id < :id))
+            ORDER BY e.occurredAt DESC, e.id DESC""")
+    List<JournalEntry> findHistory(@Param("accountId") Long accountId,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("at") LocalDateTime at,
+                                   @Param("id") Long id,
+                                   Limit limit);
+}
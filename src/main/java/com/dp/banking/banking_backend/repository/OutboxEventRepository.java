@@ -0,0 +1,38 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * Lot ordonné d'événements situés entre la position du lecteur (exclue) et la limite sûre (incluse)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo, Limit limit);
+    
+    /**
+     * Plus grand ID déjà relayé et plus ancien que la durée de rétention, borne de la prochaine purge
+     */
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e WHERE e.id <= :upTo AND e.createdAt < :before")
+    Long findLastRelayedBefore(@Param("upTo") Long upTo, @Param("before") LocalDateTime before);
+    
+    /**
+     * Purge des événements déjà relayés et plus anciens que la durée de rétention
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :upTo AND e.createdAt < :before")
+    int deleteRelayedBefore(@Param("upTo") Long upTo, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+    
+    @Modifying
+    @Query("UPDATE OutboxOffset o SET o.position = :position, o.updatedAt = :now WHERE o.consumer = :consumer")
+    int advance(@Param("consumer") String consumer, @Param("position") Long position, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package com.dp.banking.banking_backend.repository;
+
+import com.dp.banking.banking_backend.model.SnapshotRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SnapshotRunRepository extends JpaRepository<SnapshotRun, Long> {
+    
+    List<SnapshotRun> findTop50ByOrderByIdDesc();
+}
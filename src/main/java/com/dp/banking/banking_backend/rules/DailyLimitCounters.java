@@ -0,0 +1,85 @@
+package com.dp.banking.banking_backend.rules;
+
+import com.dp.banking.banking_backend.model.OperationType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cumuls journaliers par compte et par type d'opération, en centimes.
+ * Les comptes sont répartis sur un nombre fixe de segments verrouillés indépendamment :
+ * deux comptes de segments différents ne se disputent jamais le même verrou.
+ * Un segment est vidé au premier accès d'une nouvelle journée.
+ */
+@Component
+public class DailyLimitCounters {
+    
+    private static final int STRIPES = 64;
+    private static final int OPERATIONS = OperationType.values().length;
+    
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    
+    public DailyLimitCounters() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+    
+    /**
+     * Réserve {@code amount} sur le cumul du jour si le plafond n'est pas dépassé
+     */
+    public boolean tryReserve(Long accountId, OperationType operation, long amount, long limit, LocalDate day) {
+        Stripe stripe = stripeFor(accountId);
+        synchronized (stripe) {
+            long[] usage = stripe.usage(accountId, day);
+            if (usage[operation.ordinal()] + amount > limit) {
+                return false;
+            }
+            usage[operation.ordinal()] += amount;
+            return true;
+        }
+    }
+    
+    /**
+     * Annule une réservation (opération finalement rejetée ou transaction annulée)
+     */
+    public void release(Long accountId, OperationType operation, long amount, LocalDate day) {
+        Stripe stripe = stripeFor(accountId);
+        synchronized (stripe) {
+            if (day.equals(stripe.day)) {
+                long[] usage = stripe.totals.get(accountId);
+                if (usage != null) {
+                    usage[operation.ordinal()] = Math.max(0, usage[operation.ordinal()] - amount);
+                }
+            }
+        }
+    }
+    
+    public long used(Long accountId, OperationType operation, LocalDate day) {
+        Stripe stripe = stripeFor(accountId);
+        synchronized (stripe) {
+            return stripe.usage(accountId, day)[operation.ordinal()];
+        }
+    }
+    
+    private Stripe stripeFor(Long accountId) {
+        long hash = accountId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 58) & (STRIPES - 1)];
+    }
+    
+    private static final class Stripe {
+        
+        private final Map<Long, long[]> totals = new HashMap<>();
+        private LocalDate day;
+        
+        long[] usage(Long accountId, LocalDate today) {
+            if (!today.equals(day)) {
+                totals.clear();
+                day = today;
+            }
+            return totals.computeIfAbsent(accountId, id -> new long[OPERATIONS]);
+        }
+    }
+}
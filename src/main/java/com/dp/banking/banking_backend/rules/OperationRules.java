@@ -0,0 +1,180 @@
+package com.dp.banking.banking_backend.rules;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moteur de règles d'autorisation des opérations.
+ * La configuration {@code banking.rules.<type>.*} est lue une seule fois et compilée en une table immuable
+ * indexée par (type de compte, type d'opération) : chaque case contient les règles applicables, déjà paramétrées.
+ * L'évaluation ne fait ni lecture de configuration ni comparaison de chaînes.
+ * <p>
+ * Le découvert autorisé n'est pas vérifié par {@link #authorize} : il est exposé comme solde plancher
+ * ({@link #overdraftFloor}) et appliqué là où le solde fait foi (mise à jour conditionnelle, shard du registre,
+ * ligne verrouillée). Les plafonds journaliers sont réservés dans {@link DailyLimitCounters} et libérés
+ * automatiquement si la transaction en cours est annulée.
+ */
+@Component
+@Slf4j
+public class OperationRules {
+    
+    static final String INSUFFICIENT_FUNDS = "Solde insuffisant";
+    private static final Set<OperationType> DEBITS = EnumSet.of(OperationType.WITHDRAWAL, OperationType.TRANSFER_OUT, OperationType.FEE);
+    
+    @FunctionalInterface
+    private interface Rule {
+        /**
+         * @return le motif du rejet, ou {@code null} si l'opération est permise
+         */
+        String reject(Account account, Money amount);
+    }
+    
+    private final DailyLimitCounters counters;
+    private final Rule[][][] rules;
+    private final long[][] dailyLimits;
+    private final Money[] overdraftFloors;
+    
+    public OperationRules(Environment environment, DailyLimitCounters counters) {
+        this.counters = counters;
+        Account.AccountType[] types = Account.AccountType.values();
+        OperationType[] operations = OperationType.values();
+        this.rules = new Rule[types.length][operations.length][];
+        this.dailyLimits = new long[types.length][operations.length];
+        this.overdraftFloors = new Money[types.length];
+        
+        for (Account.AccountType type : types) {
+            String prefix = "banking.rules." + type.name().toLowerCase() + ".";
+            Money overdraftLimit = Money.of(environment.getProperty(prefix + "overdraft-limit", "0"));
+            Money maxAmount = Money.of(environment.getProperty(prefix + "max-operation-amount", "0"));
+            Money dailyWithdrawal = Money.of(environment.getProperty(prefix + "daily-withdrawal-limit", "0"));
+            Money dailyTransfer = Money.of(environment.getProperty(prefix + "daily-transfer-limit", "0"));
+            String[] allowed = environment.getProperty(prefix + "allowed-operations", String[].class,
+                    new String[]{"DEPOSIT", "WITHDRAWAL", "TRANSFER_OUT", "TRANSFER_IN", "INTEREST", "FEE"});
+            Set<OperationType> allowedOperations = EnumSet.noneOf(OperationType.class);
+            for (String operation : allowed) {
+                allowedOperations.add(OperationType.valueOf(operation.trim()));
+            }
+            
+            overdraftFloors[type.ordinal()] = overdraftLimit.negate();
+            dailyLimits[type.ordinal()][OperationType.WITHDRAWAL.ordinal()] = dailyWithdrawal.minorUnits();
+            dailyLimits[type.ordinal()][OperationType.TRANSFER_OUT.ordinal()] = dailyTransfer.minorUnits();
+            for (OperationType operation : operations) {
+                rules[type.ordinal()][operation.ordinal()] = compile(allowedOperations.contains(operation), maxAmount);
+            }
+            log.info("Règles {} : découvert {}, plafond par opération {}, retraits/jour {}, virements/jour {}, opérations {}",
+                    type, overdraftLimit, maxAmount, dailyWithdrawal, dailyTransfer, allowedOperations);
+        }
+    }
+    
+    /**
+     * Vérification complète sans effet de bord, découvert compris (sur le solde fourni)
+     *
+     * @return le motif du rejet, ou {@code null} si l'opération est permise
+     */
+    public String check(Account account, OperationType operation, Money amount) {
+        String rejection = evaluate(account, operation, amount);
+        if (rejection != null) {
+            return rejection;
+        }
+        if (DEBITS.contains(operation) && !hasSufficientFunds(account, amount)) {
+            return INSUFFICIENT_FUNDS;
+        }
+        long limit = dailyLimits[account.getAccountType().ordinal()][operation.ordinal()];
+        if (limit > 0 && counters.used(account.getId(), operation, LocalDate.now()) + amount.minorUnits() > limit) {
+            return dailyLimitMessage(operation);
+        }
+        return null;
+    }
+    
+    /**
+     * Autorise l'opération et réserve son montant sur le plafond journalier.
+     * Dans une transaction, la réservation est libérée si la transaction est annulée ;
+     * hors transaction, l'appelant libère lui-même avec {@link #release} en cas d'échec.
+     *
+     * @throws IllegalArgumentException si une règle rejette l'opération
+     */
+    public void authorize(Account account, OperationType operation, Money amount) {
+        String rejection = evaluate(account, operation, amount);
+        if (rejection != null) {
+            throw new IllegalArgumentException(rejection);
+        }
+        long limit = dailyLimits[account.getAccountType().ordinal()][operation.ordinal()];
+        if (limit == 0) {
+            return;
+        }
+        Long accountId = account.getId();
+        long cents = amount.minorUnits();
+        LocalDate day = LocalDate.now();
+        if (!counters.tryReserve(accountId, operation, cents, limit, day)) {
+            throw new IllegalArgumentException(dailyLimitMessage(operation));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counters.release(accountId, operation, cents, day);
+                    }
+                }
+            });
+        }
+    }
+    
+    public void release(Account account, OperationType operation, Money amount) {
+        if (dailyLimits[account.getAccountType().ordinal()][operation.ordinal()] > 0) {
+            counters.release(account.getId(), operation, amount.minorUnits(), LocalDate.now());
+        }
+    }
+    
+    /**
+     * Solde minimum autorisé pour ce type de compte (opposé du découvert autorisé)
+     */
+    public Money overdraftFloor(Account.AccountType type) {
+        return overdraftFloors[type.ordinal()];
+    }
+    
+    public boolean hasSufficientFunds(Account account, Money amount) {
+        return account.getBalance().minus(amount).compareTo(overdraftFloor(account.getAccountType())) >= 0;
+    }
+    
+    private String evaluate(Account account, OperationType operation, Money amount) {
+        for (Rule rule : rules[account.getAccountType().ordinal()][operation.ordinal()]) {
+            String rejection = rule.reject(account, amount);
+            if (rejection != null) {
+                return rejection;
+            }
+        }
+        return null;
+    }
+    
+    private static Rule[] compile(boolean allowed, Money maxAmount) {
+        if (!allowed) {
+            return new Rule[]{(account, amount) -> "Opération non autorisée pour ce type de compte"};
+        }
+        List<Rule> compiled = new ArrayList<>(2);
+        compiled.add((account, amount) -> Boolean.FALSE.equals(account.getIsActive()) ? "Le compte est inactif" : null);
+        if (maxAmount.signum() > 0) {
+            compiled.add((account, amount) -> amount.compareTo(maxAmount) > 0
+                    ? "Le montant dépasse le maximum autorisé par opération (" + maxAmount + ")" : null);
+        }
+        return compiled.toArray(new Rule[0]);
+    }
+    
+    private static String dailyLimitMessage(OperationType operation) {
+        return operation == OperationType.WITHDRAWAL
+                ? "Plafond de retrait journalier dépassé"
+                : "Plafond de virement journalier dépassé";
+    }
+}
@@ -0,0 +1,62 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Attribution de numéros de compte uniques par blocs (algorithme hi/lo).
+ * Chaque valeur de la séquence {@code account_number_seq} réserve un bloc de numéros pour ce nœud ;
+ * les numéros du bloc sont ensuite distribués en mémoire, sans accès à la base.
+ * La partie compte de l'IBAN est le numéro attribué, les clés RIB et IBAN sont calculées normalement.
+ * <p>
+ * Le bloc {@code hi} couvre {@code [hi × taille, (hi + 1) × taille)} : la taille de bloc peut être augmentée
+ * d'un redémarrage à l'autre, mais pas réduite. Avec une taille plus petite, les blocs suivants retomberaient
+ * dans des plages déjà distribuées ; les numéros en double seraient alors refusés à la création par la
+ * contrainte d'unicité.
+ */
+@Component
+@Slf4j
+public class AccountNumberAllocator {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final long blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private long next;
+    private long limit;
+    
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate,
+                                  AccountNumberGenerator accountNumberGenerator,
+                                  @Value("${banking.account-number.block-size:1000}") long blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.blockSize = blockSize;
+    }
+    
+    public String allocate() {
+        long value;
+        lock.lock();
+        try {
+            if (next >= limit) {
+                reserveBlock();
+            }
+            value = next++;
+        } finally {
+            lock.unlock();
+        }
+        return accountNumberGenerator.generateAccountNumber(value);
+    }
+    
+    private void reserveBlock() {
+        Long hi = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR account_number_seq", Long.class);
+        next = hi * blockSize;
+        limit = next + blockSize;
+        log.debug("Bloc de numéros de compte réservé: [{}, {})", next, limit);
+    }
+}
@@ -1,15 +1,35 @@
 package com.dp.banking.banking_backend.service;
 
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.dto.TransferResult;
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.ledger.LedgerEngine;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
 import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
 import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -17,7 +37,20 @@ import java.util.Optional;
 @Transactional
 public class AccountService {
     
+    /**
+     * SQLSTATE standard d'une violation de contrainte d'unicité
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+    
     private final AccountRepository accountRepository;
+    private final LedgerEngine ledgerEngine;
+    private final AccountCache accountCache;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationRules operationRules;
+    private final ServiceMetrics serviceMetrics;
     
     public List<Account> findAll() {
         log.debug("Récupération de tous les comptes");
@@ -29,43 +62,106 @@ public class AccountService {
         return accountRepository.findByIsActiveTrue();
     }
     
+    public List<Account> findPage(Long after, int limit) {
+        log.debug("Récupération de {} comptes après l'ID: {}", limit, after);
+        return accountRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+    
+    public List<Account> findActivePage(Long after, int limit) {
+        log.debug("Récupération de {} comptes actifs après l'ID: {}", limit, after);
+        return accountRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+    
+    /**
+     * Parcourt les comptes un par un sans les accumuler en mémoire :
+     * chaque compte est détaché du contexte de persistance une fois consommé.
+     */
+    @Transactional(readOnly = true)
+    public void streamAccounts(boolean activeOnly, Consumer<Account> consumer) {
+        log.debug("Export en flux des comptes (actifs uniquement: {})", activeOnly);
+        try (Stream<Account> accounts = activeOnly ? accountRepository.streamActive() : accountRepository.streamAll()) {
+            accounts.forEach(account -> {
+                consumer.accept(account);
+                entityManager.detach(account);
+            });
+        }
+    }
+    
+    /**
+     * Lecture via le cache : aucune transaction n'est ouverte, la base n'est interrogée qu'en cas d'absence
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Account> findById(Long id) {
         log.debug("Recherche du compte avec l'ID: {}", id);
-        return accountRepository.findById(id);
+        return serviceMetrics.time(ServiceMetrics.Timer.FIND_BY_ID, () -> accountCache.getById(id, accountRepository::findById));
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Account> findByAccountNumber(String accountNumber) {
         log.debug("Recherche du compte avec le numéro: {}", accountNumber);
-        return accountRepository.findByAccountNumber(accountNumber);
+        return serviceMetrics.time(ServiceMetrics.Timer.FIND_BY_ACCOUNT_NUMBER,
+                () -> accountCache.getByAccountNumber(accountNumber, accountRepository::findByAccountNumber));
     }
     
+    public AccountCache.Stats cacheStats() {
+        return accountCache.stats();
+    }
+    
+    /**
+     * Création d'un compte en un seul aller-retour : le numéro est attribué localement s'il est absent,
+     * et l'unicité est garantie par la contrainte de la base plutôt que par une vérification préalable.
+     */
     public Account save(Account account) {
-        log.info("Sauvegarde du compte: {}", account.getAccountNumber());
-        if (accountRepository.existsByAccountNumber(account.getAccountNumber())) {
-            throw new IllegalArgumentException("Un compte avec ce numéro existe déjà");
+        return serviceMetrics.time(ServiceMetrics.Timer.SAVE, () -> saveAccount(account));
+    }
+    
+    private Account saveAccount(Account account) {
+        if (account.getAccountNumber() == null) {
+            account.setAccountNumber(accountNumberAllocator.allocate());
+        } else if (!AccountNumberGenerator.isValidIban(account.getAccountNumber())) {
+            throw new IllegalArgumentException("Le numéro de compte n'est pas un IBAN valide");
+        }
+        log.debug("Sauvegarde du compte: {}", account.getAccountNumber());
+        try {
+            return accountRepository.save(account);
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Compte refusé par la base : contrainte d'intégrité non respectée", e);
+            }
+            serviceMetrics.increment(ServiceMetrics.Counter.DUPLICATE_ACCOUNT_NUMBER);
+            throw new IllegalArgumentException("Un compte avec ce numéro existe déjà", e);
         }
-        return accountRepository.save(account);
     }
     
+    /**
+     * Met à jour le titulaire, le type et l'état du compte. Le solde n'est pas modifié : il n'évolue que par
+     * des mouvements (dépôt, retrait, virement, intérêts, frais), seuls à alimenter le journal et l'outbox.
+     */
     public Account update(Long id, Account account) {
-        log.info("Mise à jour du compte avec l'ID: {}", id);
-        return accountRepository.findById(id)
+        log.debug("Mise à jour du compte avec l'ID: {}", id);
+        return serviceMetrics.time(ServiceMetrics.Timer.UPDATE, () -> accountRepository.findById(id)
                 .map(existingAccount -> {
                     existingAccount.setAccountHolder(account.getAccountHolder());
-                    existingAccount.setBalance(account.getBalance());
                     existingAccount.setAccountType(account.getAccountType());
                     existingAccount.setIsActive(account.getIsActive());
-                    return accountRepository.save(existingAccount);
+                    Account savedAccount = accountRepository.save(existingAccount);
+                    accountCache.putAfterCommit(savedAccount);
+                    return savedAccount;
                 })
-                .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + id));
+                .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + id)));
     }
     
     public void deleteById(Long id) {
+        serviceMetrics.time(ServiceMetrics.Timer.DELETE, () -> deleteAccount(id));
+    }
+    
+    private void deleteAccount(Long id) {
         log.info("Suppression du compte avec l'ID: {}", id);
         if (!accountRepository.existsById(id)) {
             throw new IllegalArgumentException("Compte non trouvé avec l'ID: " + id);
         }
         accountRepository.deleteById(id);
+        accountCache.evictAfterCommit(id);
     }
     
     public List<Account> findByAccountHolder(String accountHolder) {
@@ -73,39 +169,160 @@ public class AccountService {
         return accountRepository.findByAccountHolder(accountHolder);
     }
     
-    public List<Account> findByMinimumBalance(BigDecimal minBalance) {
+    public List<Account> findByMinimumBalance(Money minBalance) {
         log.debug("Recherche de comptes avec solde minimum: {}", minBalance);
         return accountRepository.findByBalanceGreaterThanEqual(minBalance);
     }
     
-    public Account deposit(Long accountId, BigDecimal amount) {
-        log.info("Dépôt de {} sur le compte ID: {}", amount, accountId);
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    /**
+     * Dépôt atomique : le solde est incrémenté directement en base,
+     * sans lecture-modification-écriture, pour ne perdre aucune mise à jour concurrente.
+     * Si le moteur de registre est activé, le dépôt est délégué au shard propriétaire du compte.
+     * Aucune transaction n'est ouverte pendant l'attente du shard afin de ne pas
+     * immobiliser une connexion du pool.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Account deposit(Long accountId, Money amount) {
+        return serviceMetrics.time(ServiceMetrics.Timer.DEPOSIT, () -> applyDeposit(accountId, amount));
+    }
+    
+    private Account applyDeposit(Long accountId, Money amount) {
+        log.debug("Dépôt de {} sur le compte ID: {}", amount, accountId);
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Le montant du dépôt doit être positif");
         }
+        operationRules.authorize(cachedAccount(accountId), OperationType.DEPOSIT, amount);
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.deposit(accountId, amount);
+        }
         
-        return accountRepository.findById(accountId)
-                .map(account -> {
-                    account.setBalance(account.getBalance().add(amount));
-                    return accountRepository.save(account);
-                })
-                .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId));
+        return transactionTemplate.execute(status -> {
+            if (accountRepository.credit(accountId, amount, LocalDateTime.now()) == 0) {
+                throw new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId);
+            }
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId));
+            accountCache.putAfterCommit(account);
+            eventPublisher.publishEvent(BankingOperationEvent.of(accountId, account.getAccountNumber(),
+                    OperationType.DEPOSIT, amount, account.getBalance()));
+            return account;
+        });
+    }
+    
+    /**
+     * Retrait atomique : le débit n'est appliqué que si le solde reste au-dessus du découvert autorisé,
+     * la condition étant évaluée par la base dans la même instruction UPDATE.
+     * Les autres règles (compte actif, plafonds) sont vérifiées au préalable sur le compte en cache.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Account withdraw(Long accountId, Money amount) {
+        return serviceMetrics.time(ServiceMetrics.Timer.WITHDRAW, () -> applyWithdrawal(accountId, amount));
     }
     
-    public Account withdraw(Long accountId, BigDecimal amount) {
-        log.info("Retrait de {} du compte ID: {}", amount, accountId);
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    private Account applyWithdrawal(Long accountId, Money amount) {
+        log.debug("Retrait de {} du compte ID: {}", amount, accountId);
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Le montant du retrait doit être positif");
         }
+        Account cached = cachedAccount(accountId);
+        Money floor = operationRules.overdraftFloor(cached.getAccountType());
+        if (ledgerEngine.isEnabled()) {
+            operationRules.authorize(cached, OperationType.WITHDRAWAL, amount);
+            try {
+                return ledgerEngine.withdraw(accountId, amount, floor);
+            } catch (RuntimeException e) {
+                operationRules.release(cached, OperationType.WITHDRAWAL, amount);
+                throw e;
+            }
+        }
         
-        return accountRepository.findById(accountId)
-                .map(account -> {
-                    if (account.getBalance().compareTo(amount) < 0) {
-                        throw new IllegalArgumentException("Solde insuffisant");
-                    }
-                    account.setBalance(account.getBalance().subtract(amount));
-                    return accountRepository.save(account);
-                })
+        return transactionTemplate.execute(status -> {
+            operationRules.authorize(cached, OperationType.WITHDRAWAL, amount);
+            if (accountRepository.debitIfSufficient(accountId, amount, floor, LocalDateTime.now()) == 0) {
+                if (!accountRepository.existsById(accountId)) {
+                    throw new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId);
+                }
+                serviceMetrics.increment(ServiceMetrics.Counter.INSUFFICIENT_FUNDS);
+                throw new IllegalArgumentException("Solde insuffisant");
+            }
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId));
+            accountCache.putAfterCommit(account);
+            eventPublisher.publishEvent(BankingOperationEvent.of(accountId, account.getAccountNumber(),
+                    OperationType.WITHDRAWAL, amount, account.getBalance()));
+            return account;
+        });
+    }
+    
+    /**
+     * Virement atomique entre deux comptes, en une seule transaction.
+     * Les deux lignes sont verrouillées par une seule requête, dans l'ordre croissant des IDs,
+     * ce qui évite les interblocages entre virements croisés A→B et B→A.
+     */
+    public TransferResult transfer(Long fromAccountId, Long toAccountId, Money amount) {
+        return serviceMetrics.time(ServiceMetrics.Timer.TRANSFER, () -> applyTransfer(fromAccountId, toAccountId, amount));
+    }
+    
+    private TransferResult applyTransfer(Long fromAccountId, Long toAccountId, Money amount) {
+        log.debug("Virement de {} du compte ID: {} vers le compte ID: {}", amount, fromAccountId, toAccountId);
+        if (amount == null || !amount.isPositive()) {
+            throw new IllegalArgumentException("Le montant du virement doit être positif");
+        }
+        if (fromAccountId == null || toAccountId == null || fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Les comptes source et destination doivent être différents");
+        }
+        
+        Account source = null;
+        Account target = null;
+        for (Account account : accountRepository.findAllByIdInForUpdate(List.of(fromAccountId, toAccountId))) {
+            if (account.getId().equals(fromAccountId)) {
+                source = account;
+            } else {
+                target = account;
+            }
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Compte non trouvé avec l'ID: " + fromAccountId);
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("Compte non trouvé avec l'ID: " + toAccountId);
+        }
+        if (!operationRules.hasSufficientFunds(source, amount)) {
+            serviceMetrics.increment(ServiceMetrics.Counter.INSUFFICIENT_FUNDS);
+            throw new IllegalArgumentException("Solde insuffisant");
+        }
+        operationRules.authorize(source, OperationType.TRANSFER_OUT, amount);
+        operationRules.authorize(target, OperationType.TRANSFER_IN, amount);
+        
+        source.setBalance(source.getBalance().minus(amount));
+        target.setBalance(target.getBalance().plus(amount));
+        accountCache.putAfterCommit(source);
+        accountCache.putAfterCommit(target);
+        eventPublisher.publishEvent(BankingOperationEvent.of(source.getId(), source.getAccountNumber(),
+                OperationType.TRANSFER_OUT, amount, source.getBalance(), target.getId()));
+        eventPublisher.publishEvent(BankingOperationEvent.of(target.getId(), target.getAccountNumber(),
+                OperationType.TRANSFER_IN, amount, target.getBalance(), source.getId()));
+        return new TransferResult(AccountResponse.from(source), AccountResponse.from(target));
+    }
+    
+    /**
+     * Seule contrainte d'unicité de la table accounts en dehors de la clé primaire (générée) : le numéro de compte.
+     * Les autres violations (NOT NULL, longueur) ne sont pas des doublons.
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Account cachedAccount(Long accountId) {
+        return findById(accountId)
                 .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.dto.BatchInstruction;
+import com.dp.banking.banking_backend.dto.BatchResult;
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Exécution groupée de mouvements bancaires.
+ * Les instructions sont découpées en tranches ; chaque tranche est appliquée dans une seule transaction :
+ * les comptes concernés sont chargés et verrouillés en quelques requêtes (ordre croissant des IDs),
+ * les instructions appliquées en mémoire dans l'ordre, puis les soldes modifiés écrits
+ * au commit en lots JDBC (une seule mise à jour par compte et par tranche).
+ * Chaque instruction passe par les règles d'autorisation ({@link OperationRules}) ;
+ * un rejet n'affecte que l'instruction concernée. Si la transaction d'une tranche échoue, toutes ses
+ * instructions sont rejetées avec un message générique ; la cause n'est que journalisée.
+ */
+@Service
+@Slf4j
+public class BatchTransactionService {
+    
+    private static final int LOCK_SLICE_SIZE = 1000;
+    private static final String CHUNK_FAILURE = "Échec technique : instruction non appliquée, le lot peut être soumis à nouveau";
+    
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountCache accountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationRules operationRules;
+    private final ServiceMetrics serviceMetrics;
+    private final int chunkSize;
+    
+    public BatchTransactionService(AccountRepository accountRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   AccountCache accountCache,
+                                   ApplicationEventPublisher eventPublisher,
+                                   OperationRules operationRules,
+                                   ServiceMetrics serviceMetrics,
+                                   @Value("${banking.batch.chunk-size:5000}") int chunkSize) {
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountCache = accountCache;
+        this.eventPublisher = eventPublisher;
+        this.operationRules = operationRules;
+        this.serviceMetrics = serviceMetrics;
+        this.chunkSize = chunkSize;
+    }
+    
+    public List<BatchResult> execute(List<BatchInstruction> instructions) {
+        log.info("Exécution d'un lot de {} instructions", instructions.size());
+        BatchResult[] results = new BatchResult[instructions.size()];
+        
+        for (int start = 0; start < instructions.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, instructions.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyChunk(instructions, from, to, results));
+            } catch (RuntimeException e) {
+                log.error("Échec de la tranche [{}, {}) du lot", from, to, e);
+                for (int i = from; i < to; i++) {
+                    results[i] = BatchResult.rejected(i, CHUNK_FAILURE);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+    
+    private void applyChunk(List<BatchInstruction> instructions, int from, int to, BatchResult[] results) {
+        TreeSet<Long> ids = new TreeSet<>();
+        for (int i = from; i < to; i++) {
+            BatchInstruction instruction = instructions.get(i);
+            if (instruction == null) {
+                continue;
+            }
+            if (instruction.accountId() != null) {
+                ids.add(instruction.accountId());
+            }
+            if (instruction.targetAccountId() != null) {
+                ids.add(instruction.targetAccountId());
+            }
+        }
+        
+        Map<Long, Account> accounts = new HashMap<>();
+        List<Long> slice = new ArrayList<>(LOCK_SLICE_SIZE);
+        for (Long id : ids) {
+            slice.add(id);
+            if (slice.size() == LOCK_SLICE_SIZE) {
+                lock(slice, accounts);
+            }
+        }
+        lock(slice, accounts);
+        
+        for (int i = from; i < to; i++) {
+            results[i] = apply(i, instructions.get(i), accounts);
+        }
+        accounts.values().forEach(accountCache::putAfterCommit);
+    }
+    
+    private void lock(List<Long> slice, Map<Long, Account> accounts) {
+        if (!slice.isEmpty()) {
+            accountRepository.findAllByIdInForUpdate(slice).forEach(account -> accounts.put(account.getId(), account));
+            slice.clear();
+        }
+    }
+    
+    private BatchResult apply(int index, BatchInstruction instruction, Map<Long, Account> accounts) {
+        if (instruction == null) {
+            return BatchResult.rejected(index, "Instruction manquante");
+        }
+        Money amount = instruction.amount();
+        if (instruction.type() == null) {
+            return BatchResult.rejected(index, "Type d'instruction manquant");
+        }
+        if (amount == null || !amount.isPositive()) {
+            return BatchResult.rejected(index, "Le montant doit être positif");
+        }
+        Account account = accounts.get(instruction.accountId());
+        if (account == null) {
+            return BatchResult.rejected(index, "Compte non trouvé avec l'ID: " + instruction.accountId());
+        }
+        
+        try {
+            return applyAuthorized(index, instruction, account, accounts);
+        } catch (IllegalArgumentException e) {
+            return BatchResult.rejected(index, e.getMessage());
+        }
+    }
+    
+    /**
+     * Les fonds sont vérifiés avant {@link OperationRules#authorize}, qui réserve le plafond journalier :
+     * une instruction rejetée ne laisse ainsi aucune réservation derrière elle
+     */
+    private BatchResult applyAuthorized(int index, BatchInstruction instruction, Account account, Map<Long, Account> accounts) {
+        Money amount = instruction.amount();
+        switch (instruction.type()) {
+            case DEPOSIT -> {
+                operationRules.authorize(account, OperationType.DEPOSIT, amount);
+                account.setBalance(account.getBalance().plus(amount));
+                publish(account, OperationType.DEPOSIT, amount, null);
+            }
+            case WITHDRAW -> {
+                if (!operationRules.hasSufficientFunds(account, amount)) {
+                    serviceMetrics.increment(ServiceMetrics.Counter.INSUFFICIENT_FUNDS);
+                    return BatchResult.rejected(index, "Solde insuffisant");
+                }
+                operationRules.authorize(account, OperationType.WITHDRAWAL, amount);
+                account.setBalance(account.getBalance().minus(amount));
+                publish(account, OperationType.WITHDRAWAL, amount, null);
+            }
+            case TRANSFER -> {
+                Account target = accounts.get(instruction.targetAccountId());
+                if (target == null) {
+                    return BatchResult.rejected(index, "Compte non trouvé avec l'ID: " + instruction.targetAccountId());
+                }
+                if (target == account) {
+                    return BatchResult.rejected(index, "Les comptes source et destination doivent être différents");
+                }
+                if (!operationRules.hasSufficientFunds(account, amount)) {
+                    serviceMetrics.increment(ServiceMetrics.Counter.INSUFFICIENT_FUNDS);
+                    return BatchResult.rejected(index, "Solde insuffisant");
+                }
+                operationRules.authorize(target, OperationType.TRANSFER_IN, amount);
+                operationRules.authorize(account, OperationType.TRANSFER_OUT, amount);
+                account.setBalance(account.getBalance().minus(amount));
+                target.setBalance(target.getBalance().plus(amount));
+                publish(account, OperationType.TRANSFER_OUT, amount, target.getId());
+                publish(target, OperationType.TRANSFER_IN, amount, account.getId());
+            }
+        }
+        return BatchResult.ok(index, account.getBalance());
+    }
+    
+    private void publish(Account account, OperationType type, Money amount, Long counterpartyAccountId) {
+        eventPublisher.publishEvent(BankingOperationEvent.of(account.getId(), account.getAccountNumber(),
+                type, amount, account.getBalance(), counterpartyAccountId));
+    }
+}
@@ -0,0 +1,347 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.decorator.AccountDecorator;
+import com.dp.banking.banking_backend.decorator.AccountDecoratorRegistry;
+import com.dp.banking.banking_backend.dto.InterestRunReport;
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.InterestRun;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.repository.InterestRunRepository;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Traitement de nuit des intérêts et des frais de tous les comptes actifs.
+ * Les comptes sont lus par tranches (curseur sur l'ID) ; chaque tranche est confiée à un pool fork-join
+ * qui calcule les montants en parallèle via le décorateur du type de compte, puis écrit la tranche
+ * en un lot JDBC dans sa propre transaction. Plusieurs tranches sont traitées simultanément.
+ * <p>
+ * Les soldes sont modifiés par incrément relatif ({@code balance = balance + ?}) : un dépôt ou un retrait
+ * concurrent n'est jamais écrasé. Intérêts et frais sont deux mises à jour distinctes : les intérêts sont
+ * toujours crédités, et seul un prélèvement de frais qui ferait passer le solde sous le découvert autorisé
+ * du type de compte ({@link OperationRules#overdraftFloor}) est ignoré.
+ * Chaque écriture est publiée comme {@link BankingOperationEvent} (journal, outbox).
+ * <p>
+ * Chaque date de valeur est réservée en base ({@link InterestRun}) avant la première tranche : une date déjà
+ * traitée, par le planificateur ou par un appel manuel, n'est jamais appliquée une seconde fois.
+ */
+@Service
+@Slf4j
+public class InterestAccrualService {
+    
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+    private static final String CREDIT_INTEREST = "UPDATE accounts SET balance = balance + ?, version = version + 1, updated_at = ? "
+            + "WHERE id = ? AND is_active = TRUE";
+    private static final String CHARGE_FEE = "UPDATE accounts SET balance = balance - ?, version = version + 1, updated_at = ? "
+            + "WHERE id = ? AND is_active = TRUE AND balance - ? >= ?";
+    
+    private final AccountRepository accountRepository;
+    private final InterestRunRepository interestRunRepository;
+    private final AccountDecoratorRegistry decoratorRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountCache accountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationRules operationRules;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public InterestAccrualService(AccountRepository accountRepository,
+                                  InterestRunRepository interestRunRepository,
+                                  AccountDecoratorRegistry decoratorRegistry,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  AccountCache accountCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  OperationRules operationRules,
+                                  @Value("${banking.interest.chunk-size:2000}") int chunkSize,
+                                  @Value("${banking.interest.parallelism:0}") int parallelism) {
+        this.accountRepository = accountRepository;
+        this.interestRunRepository = interestRunRepository;
+        this.decoratorRegistry = decoratorRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.accountCache = accountCache;
+        this.eventPublisher = eventPublisher;
+        this.operationRules = operationRules;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+    
+    @Scheduled(cron = "${banking.interest.cron:0 30 0 * * *}")
+    public void nightlyRun() {
+        try {
+            run(LocalDate.now());
+        } catch (InterestRunInProgressException | InterestAlreadyAppliedException e) {
+            log.warn("Traitement planifié des intérêts ignoré : {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Crédite les intérêts du jour et, le premier jour du mois, prélève les frais mensuels
+     *
+     * @throws InterestRunInProgressException si un traitement est déjà en cours
+     * @throws InterestAlreadyAppliedException si cette date de valeur a déjà été traitée
+     * @throws IllegalStateException si une tranche échoue ; les tranches déjà validées restent appliquées
+     *                               et la date reste réservée
+     */
+    public InterestRunReport run(LocalDate valueDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new InterestRunInProgressException();
+        }
+        try {
+            claim(valueDate);
+            return accrue(valueDate);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    /**
+     * Réserve la date de valeur dans sa propre transaction, validée avant toute écriture sur les comptes
+     */
+    private void claim(LocalDate valueDate) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> interestRunRepository.claim(valueDate, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            InterestRunReport report = interestRunRepository.findById(valueDate)
+                    .filter(InterestRun::isCompleted)
+                    .map(InterestRunReport::from)
+                    .orElse(null);
+            throw new InterestAlreadyAppliedException(valueDate, report);
+        }
+    }
+    
+    private InterestRunReport accrue(LocalDate valueDate) {
+        boolean chargeFees = valueDate.getDayOfMonth() == 1;
+        log.info("Traitement des intérêts au {} (frais mensuels: {})", valueDate, chargeFees);
+        long start = System.nanoTime();
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<ChunkResult>> chunks = new ArrayList<>();
+        
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            long after = 0L;
+            List<Account> chunk;
+            do {
+                chunk = accountRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(after, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1).getId();
+                inFlight.acquire();
+                List<Account> accounts = chunk;
+                chunks.add(pool.submit(() -> {
+                    try {
+                        return processChunk(accounts, chargeFees);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            } while (chunk.size() == chunkSize);
+            
+            ChunkResult total = new ChunkResult(0, 0, 0, 0, Money.ZERO, Money.ZERO);
+            for (Future<ChunkResult> result : chunks) {
+                total = total.plus(result.get());
+            }
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            InterestRunReport report = new InterestRunReport(valueDate, total.accounts(), total.credited(), total.charged(),
+                    total.feesRejected(), total.interest(), total.fees(), elapsedMs, total.accounts() * 1000 / elapsedMs);
+            record(report);
+            log.info("Traitement des intérêts au {} terminé : {} comptes en {} ms ({} comptes/s)",
+                    valueDate, report.accounts(), elapsedMs, report.accountsPerSecond());
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Traitement des intérêts interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec du traitement des intérêts", e.getCause());
+        }
+    }
+    
+    private void record(InterestRunReport report) {
+        transactionTemplate.executeWithoutResult(status -> {
+            InterestRun run = interestRunRepository.findById(report.valueDate()).orElseThrow();
+            run.setCompletedAt(LocalDateTime.now());
+            run.setAccountCount(report.accounts());
+            run.setInterestCredited(report.interestCredited());
+            run.setFeesCharged(report.feesCharged());
+            run.setFeesRejected(report.feesRejected());
+            run.setTotalInterest(report.totalInterest());
+            run.setTotalFees(report.totalFees());
+            run.setElapsedMs(report.elapsedMs());
+        });
+    }
+    
+    /**
+     * Écrit la tranche en une transaction : un lot de crédits d'intérêts inconditionnels, puis un lot de
+     * prélèvements de frais conditionnés au découvert autorisé, évalués sur le solde déjà crédité
+     */
+    private ChunkResult processChunk(List<Account> chunk, boolean chargeFees) {
+        Money[] interest = new Money[chunk.size()];
+        Money[] fees = new Money[chunk.size()];
+        new AccrualTask(chunk, interest, fees, chargeFees, 0, chunk.size()).invoke();
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> credits = new ArrayList<>();
+        List<Integer> creditIndexes = new ArrayList<>();
+        List<Object[]> charges = new ArrayList<>();
+        List<Integer> chargeIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Account account = chunk.get(i);
+            if (interest[i].signum() != 0) {
+                credits.add(new Object[]{interest[i].toBigDecimal(), now, account.getId()});
+                creditIndexes.add(i);
+            }
+            if (fees[i].signum() != 0) {
+                BigDecimal fee = fees[i].toBigDecimal();
+                BigDecimal floor = operationRules.overdraftFloor(account.getAccountType()).toBigDecimal();
+                charges.add(new Object[]{fee, now, account.getId(), fee, floor});
+                chargeIndexes.add(i);
+            }
+        }
+        if (credits.isEmpty() && charges.isEmpty()) {
+            return new ChunkResult(chunk.size(), 0, 0, 0, Money.ZERO, Money.ZERO);
+        }
+        
+        boolean[] credited = new boolean[chunk.size()];
+        boolean[] charged = new boolean[chunk.size()];
+        transactionTemplate.executeWithoutResult(status -> {
+            boolean changed = apply(CREDIT_INTEREST, credits, creditIndexes, credited);
+            changed |= apply(CHARGE_FEE, charges, chargeIndexes, charged);
+            if (!changed) {
+                return;
+            }
+            // Soldes après mise à jour, lus sous le verrou des lignes modifiées ; la tranche est une plage d'IDs
+            Map<Long, Money> balances = new HashMap<>(chunk.size() * 2);
+            accountRepository.findBalancesByIdBetween(chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId())
+                    .forEach(balance -> balances.put(balance.id(), balance.balance()));
+            for (int i = 0; i < chunk.size(); i++) {
+                if (!credited[i] && !charged[i]) {
+                    continue;
+                }
+                Account account = chunk.get(i);
+                Money balance = balances.get(account.getId());
+                if (credited[i]) {
+                    eventPublisher.publishEvent(BankingOperationEvent.of(account.getId(), account.getAccountNumber(),
+                            OperationType.INTEREST, interest[i], charged[i] ? balance.plus(fees[i]) : balance));
+                }
+                if (charged[i]) {
+                    eventPublisher.publishEvent(BankingOperationEvent.of(account.getId(), account.getAccountNumber(),
+                            OperationType.FEE, fees[i], balance));
+                }
+                accountCache.evictAfterCommit(account.getId());
+            }
+        });
+        
+        long creditCount = 0;
+        long chargeCount = 0;
+        Money totalInterest = Money.ZERO;
+        Money totalFees = Money.ZERO;
+        for (int i = 0; i < chunk.size(); i++) {
+            if (credited[i]) {
+                creditCount++;
+                totalInterest = totalInterest.plus(interest[i]);
+            }
+            if (charged[i]) {
+                chargeCount++;
+                totalFees = totalFees.plus(fees[i]);
+            }
+        }
+        return new ChunkResult(chunk.size(), creditCount, chargeCount, charges.size() - chargeCount, totalInterest, totalFees);
+    }
+    
+    /**
+     * Exécute un lot de mises à jour et marque les comptes effectivement modifiés
+     *
+     * @return {@code true} si au moins une ligne a été modifiée
+     */
+    private boolean apply(String sql, List<Object[]> updates, List<Integer> indexes, boolean[] applied) {
+        if (updates.isEmpty()) {
+            return false;
+        }
+        boolean changed = false;
+        int[] counts = jdbcTemplate.batchUpdate(sql, updates);
+        for (int k = 0; k < counts.length; k++) {
+            if (counts[k] != 0) {
+                applied[indexes.get(k)] = true;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Calcul parallèle des intérêts et frais d'une tranche, par division récursive
+     */
+    private final class AccrualTask extends RecursiveAction {
+        
+        private final List<Account> chunk;
+        private final Money[] interest;
+        private final Money[] fees;
+        private final boolean chargeFees;
+        private final int from;
+        private final int to;
+        
+        AccrualTask(List<Account> chunk, Money[] interest, Money[] fees, boolean chargeFees, int from, int to) {
+            this.chunk = chunk;
+            this.interest = interest;
+            this.fees = fees;
+            this.chargeFees = chargeFees;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Account account = chunk.get(i);
+                    AccountDecorator decorator = decoratorRegistry.forAccount(account);
+                    interest[i] = decorator.calculateInterest(account);
+                    Money credited = account.getBalance().plus(interest[i]);
+                    fees[i] = chargeFees ? decorator.chargeableFees(account, credited) : Money.ZERO;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AccrualTask(chunk, interest, fees, chargeFees, from, middle),
+                    new AccrualTask(chunk, interest, fees, chargeFees, middle, to));
+        }
+    }
+    
+    private record ChunkResult(long accounts, long credited, long charged, long feesRejected, Money interest, Money fees) {
+        
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(accounts + other.accounts, credited + other.credited, charged + other.charged,
+                    feesRejected + other.feesRejected, interest.plus(other.interest), fees.plus(other.fees));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.dto.InterestRunReport;
+
+import java.time.LocalDate;
+
+/**
+ * La date de valeur a déjà été traitée (ou son traitement a échoué en cours de route) : le nouveau traitement
+ * n'a pas démarré et aucun compte n'a été modifié
+ */
+public class InterestAlreadyAppliedException extends IllegalStateException {
+    
+    private final transient InterestRunReport report;
+    
+    public InterestAlreadyAppliedException(LocalDate valueDate, InterestRunReport report) {
+        super("Les intérêts au " + valueDate + " ont déjà été traités");
+        this.report = report;
+    }
+    
+    /**
+     * Bilan du traitement d'origine, ou {@code null} s'il n'est pas terminé
+     */
+    public InterestRunReport report() {
+        return report;
+    }
+}
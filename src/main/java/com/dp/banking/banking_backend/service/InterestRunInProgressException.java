@@ -0,0 +1,11 @@
+package com.dp.banking.banking_backend.service;
+
+/**
+ * Un traitement des intérêts est déjà en cours : le nouveau n'a pas démarré et aucun compte n'a été modifié
+ */
+public class InterestRunInProgressException extends IllegalStateException {
+    
+    public InterestRunInProgressException() {
+        super("Un traitement des intérêts est déjà en cours");
+    }
+}
@@ -1,5 +1,6 @@
 package com.dp.banking.banking_backend.service;
 
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
 import com.dp.banking.banking_backend.model.Operator;
 import com.dp.banking.banking_backend.repository.OperatorRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import java.util.Optional;
 public class OperatorService {
     
     private final OperatorRepository operatorRepository;
+    private final ServiceMetrics serviceMetrics;
     
     public List<Operator> findAll() {
         log.debug("Récupération de tous les opérateurs");
@@ -30,7 +32,7 @@ public class OperatorService {
     
     public Optional<Operator> findById(Long id) {
         log.debug("Recherche de l'opérateur avec l'ID: {}", id);
-        return operatorRepository.findById(id);
+        return serviceMetrics.time(ServiceMetrics.Timer.OPERATOR_FIND_BY_ID, () -> operatorRepository.findById(id));
     }
     
     public Optional<Operator> findByEmail(String email) {
@@ -39,16 +41,21 @@ public class OperatorService {
     }
     
     public Operator save(Operator operator) {
-        log.info("Sauvegarde de l'opérateur: {}", operator.getName());
+        return serviceMetrics.time(ServiceMetrics.Timer.OPERATOR_SAVE, () -> saveOperator(operator));
+    }
+    
+    private Operator saveOperator(Operator operator) {
+        log.debug("Sauvegarde de l'opérateur: {}", operator.getName());
         if (operatorRepository.existsByEmail(operator.getEmail())) {
+            serviceMetrics.increment(ServiceMetrics.Counter.DUPLICATE_OPERATOR_EMAIL);
             throw new IllegalArgumentException("Un opérateur avec cet email existe déjà");
         }
         return operatorRepository.save(operator);
     }
     
     public Operator update(Long id, Operator operator) {
-        log.info("Mise à jour de l'opérateur avec l'ID: {}", id);
-        return operatorRepository.findById(id)
+        log.debug("Mise à jour de l'opérateur avec l'ID: {}", id);
+        return serviceMetrics.time(ServiceMetrics.Timer.OPERATOR_UPDATE, () -> operatorRepository.findById(id)
                 .map(existingOperator -> {
                     existingOperator.setName(operator.getName());
                     existingOperator.setEmail(operator.getEmail());
@@ -56,7 +63,7 @@ public class OperatorService {
                     existingOperator.setIsActive(operator.getIsActive());
                     return operatorRepository.save(existingOperator);
                 })
-                .orElseThrow(() -> new IllegalArgumentException("Opérateur non trouvé avec l'ID: " + id));
+                .orElseThrow(() -> new IllegalArgumentException("Opérateur non trouvé avec l'ID: " + id)));
     }
     
     public void deleteById(Long id) {
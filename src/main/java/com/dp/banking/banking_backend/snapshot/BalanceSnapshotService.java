@@ -0,0 +1,186 @@
+package com.dp.banking.banking_backend.snapshot;
+
+import com.dp.banking.banking_backend.dto.AccountBalance;
+import com.dp.banking.banking_backend.dto.PointInTimeBalance;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.BalanceSnapshot;
+import com.dp.banking.banking_backend.model.JournalEntry;
+import com.dp.banking.banking_backend.model.SnapshotRun;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.repository.BalanceSnapshotRepository;
+import com.dp.banking.banking_backend.repository.JournalEntryRepository;
+import com.dp.banking.banking_backend.repository.SnapshotRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Instantanés périodiques des soldes et reconstitution du solde d'un compte à une date donnée.
+ * <p>
+ * Un instantané parcourt les comptes par pages (curseur sur l'ID, projection ID/solde) et insère
+ * chaque page en un lot JDBC, dans des transactions courtes en lecture MVCC : aucun verrou n'est pris
+ * sur les comptes et les dépôts/retraits continuent normalement. Chaque page porte sa propre date de
+ * relevé, ce qui rend chaque ligne exacte à cette date même si l'instantané dure plusieurs minutes
+ * (aux transactions encore en cours au moment du relevé près).
+ */
+@Service
+@Slf4j
+public class BalanceSnapshotService {
+    
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO balance_snapshots (run_id, account_id, balance, captured_at) VALUES (?, ?, ?, ?)";
+    
+    private final AccountRepository accountRepository;
+    private final SnapshotRunRepository snapshotRunRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public BalanceSnapshotService(AccountRepository accountRepository,
+                                  SnapshotRunRepository snapshotRunRepository,
+                                  BalanceSnapshotRepository balanceSnapshotRepository,
+                                  JournalEntryRepository journalEntryRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${banking.snapshot.page-size:5000}") int pageSize) {
+        this.accountRepository = accountRepository;
+        this.snapshotRunRepository = snapshotRunRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+    }
+    
+    @Scheduled(cron = "${banking.snapshot.cron:0 0 0 * * *}")
+    public void scheduledSnapshot() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Instantané planifié ignoré : un instantané est déjà en cours");
+            return;
+        }
+        snapshot();
+    }
+    
+    /**
+     * Lance un instantané en arrière-plan
+     *
+     * @return {@code false} si un instantané est déjà en cours
+     */
+    public boolean startSnapshot() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            Thread.ofPlatform().name("balance-snapshot").start(() -> {
+                try {
+                    snapshot();
+                } catch (RuntimeException e) {
+                    log.error("Échec de l'instantané des soldes", e);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+    
+    /**
+     * Relève le solde de tous les comptes
+     *
+     * @throws IllegalStateException si un instantané est déjà en cours
+     */
+    public SnapshotRun takeSnapshot() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Un instantané est déjà en cours");
+        }
+        return snapshot();
+    }
+    
+    public List<SnapshotRun> recentRuns() {
+        return snapshotRunRepository.findTop50ByOrderByIdDesc();
+    }
+    
+    /**
+     * Solde d'un compte à la date donnée : solde courant si le compte n'a pas changé depuis,
+     * sinon la plus récente des deux sources antérieures à la date (mouvement du journal,
+     * qui porte le solde après mouvement, ou relevé d'instantané).
+     *
+     * @return vide si aucune source ne couvre la date (antérieure à tout relevé et à tout mouvement)
+     */
+    public Optional<PointInTimeBalance> balanceAt(Long accountId, LocalDateTime at) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Compte non trouvé avec l'ID: " + accountId));
+        if (account.getUpdatedAt() != null && !account.getUpdatedAt().isAfter(at)) {
+            return Optional.of(new PointInTimeBalance(accountId, at, account.getBalance(), PointInTimeBalance.Source.CURRENT));
+        }
+        
+        Optional<JournalEntry> entry = journalEntryRepository
+                .findFirstByAccountIdAndOccurredAtLessThanEqualOrderByOccurredAtDescIdDesc(accountId, at);
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+                .findFirstByIdAccountIdAndCapturedAtLessThanEqualOrderByCapturedAtDesc(accountId, at);
+        if (entry.isPresent()
+                && (snapshot.isEmpty() || entry.get().getOccurredAt().isAfter(snapshot.get().getCapturedAt()))) {
+            return Optional.of(new PointInTimeBalance(accountId, at, entry.get().getBalanceAfter(), PointInTimeBalance.Source.JOURNAL));
+        }
+        return snapshot.map(value -> new PointInTimeBalance(accountId, at, value.getBalance(), PointInTimeBalance.Source.SNAPSHOT));
+    }
+    
+    /**
+     * Relève le solde de tous les comptes ; l'appelant a déjà positionné {@code running}, libéré en fin de relevé
+     */
+    private SnapshotRun snapshot() {
+        try {
+            long start = System.nanoTime();
+            SnapshotRun run = snapshotRunRepository.save(new SnapshotRun(null, LocalDateTime.now(), null, 0L));
+            log.info("Instantané des soldes {} démarré", run.getId());
+            
+            long after = 0L;
+            long count = 0L;
+            List<AccountBalance> page;
+            do {
+                Timestamp capturedAt = Timestamp.valueOf(LocalDateTime.now());
+                page = accountRepository.findBalancePage(after, Limit.of(pageSize));
+                if (!page.isEmpty()) {
+                    insertPage(run.getId(), page, capturedAt);
+                    after = page.get(page.size() - 1).id();
+                    count += page.size();
+                }
+            } while (page.size() == pageSize);
+            
+            run.setCompletedAt(LocalDateTime.now());
+            run.setAccountCount(count);
+            snapshotRunRepository.save(run);
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Instantané des soldes {} terminé : {} comptes en {} ms ({} comptes/s)",
+                    run.getId(), count, elapsedMs, count * 1000 / elapsedMs);
+            return run;
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private void insertPage(Long runId, List<AccountBalance> page, Timestamp capturedAt) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, page, page.size(), (statement, balance) -> {
+                    statement.setLong(1, runId);
+                    statement.setLong(2, balance.id());
+                    statement.setBigDecimal(3, balance.balance().toBigDecimal());
+                    statement.setTimestamp(4, capturedAt);
+                }));
+    }
+}
@@ -3,71 +3,182 @@ package com.dp.banking.banking_backend.util;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Génération et validation d'IBAN français sans chaînes intermédiaires :
+ * le numéro est assemblé dans un {@code char[]} et les clés sont calculées en arithmétique entière.
+ */
 @Component
 public class AccountNumberGenerator {
     
     private static final String COUNTRY_CODE = "FR";
     private static final String BANK_CODE = "30001";
     private static final String BRANCH_CODE = "00794";
-    private static final SecureRandom random = new SecureRandom();
+    
+    private static final int IBAN_LENGTH = 27;
+    private static final int ACCOUNT_PART_OFFSET = 14;
+    private static final int ACCOUNT_PART_LENGTH = 11;
+    private static final long ACCOUNT_PART_BOUND = 100_000_000_000L;
+    private static final int MIN_IBAN_LENGTH = 15;
+    private static final int MAX_IBAN_LENGTH = 34;
+    
+    /**
+     * Préfixe constant de l'IBAN (pays, clé provisoire, banque, guichet)
+     */
+    private static final char[] PREFIX = (COUNTRY_CODE + "00" + BANK_CODE + BRANCH_CODE).toCharArray();
+    
+    /**
+     * Contribution de la banque et du guichet à la clé RIB, calculée une fois pour toutes
+     */
+    private static final long BANK_BRANCH_WEIGHTED_SUM = weightedSum((BANK_CODE + BRANCH_CODE).toCharArray(), 0, 10, 1);
+    
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+    
+    /**
+     * Sources partagées par les threads virtuels : un thread virtuel ne sert qu'une requête,
+     * un {@link ThreadLocal} y créerait (et amorcerait) un nouveau générateur à chaque appel
+     */
+    private static final SecureRandom[] SHARED_RANDOMS = new SecureRandom[Runtime.getRuntime().availableProcessors() * 2];
+    
+    static {
+        for (int i = 0; i < SHARED_RANDOMS.length; i++) {
+            SHARED_RANDOMS[i] = new SecureRandom();
+        }
+    }
     
     /**
      * Génère un numéro de compte bancaire français (IBAN)
      * Format: FR76 3000 1007 94XX XXXX XXXX XX
      */
     public String generateAccountNumber() {
-        // Génération de 11 chiffres aléatoires pour la partie compte
-        StringBuilder accountPart = new StringBuilder();
-        for (int i = 0; i < 11; i++) {
-            accountPart.append(random.nextInt(10));
+        char[] buffer = new char[IBAN_LENGTH];
+        fill(buffer, random().nextLong(ACCOUNT_PART_BOUND));
+        return new String(buffer);
+    }
+    
+    /**
+     * Construit l'IBAN (clés RIB et IBAN comprises) d'une partie compte donnée, sur 11 chiffres
+     */
+    public String generateAccountNumber(long accountPart) {
+        if (accountPart < 0 || accountPart >= ACCOUNT_PART_BOUND) {
+            throw new IllegalArgumentException("La partie compte doit contenir au plus 11 chiffres");
+        }
+        char[] buffer = new char[IBAN_LENGTH];
+        fill(buffer, accountPart);
+        return new String(buffer);
+    }
+    
+    /**
+     * Génère {@code n} numéros en réutilisant le même tampon et la même source aléatoire
+     */
+    public String[] generate(int n) {
+        String[] numbers = new String[n];
+        char[] buffer = new char[IBAN_LENGTH];
+        SecureRandom random = random();
+        for (int i = 0; i < n; i++) {
+            fill(buffer, random.nextLong(ACCOUNT_PART_BOUND));
+            numbers[i] = new String(buffer);
+        }
+        return numbers;
+    }
+    
+    /**
+     * Vérifie un IBAN (ISO 13616) : format, longueur et clé de contrôle modulo 97.
+     * Les espaces ne sont pas acceptés.
+     */
+    public static boolean isValidIban(CharSequence iban) {
+        if (iban == null || iban.length() < MIN_IBAN_LENGTH || iban.length() > MAX_IBAN_LENGTH) {
+            return false;
+        }
+        if (!isUpperLetter(iban.charAt(0)) || !isUpperLetter(iban.charAt(1))
+                || !isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+            return false;
+        }
+        for (int i = 4; i < iban.length(); i++) {
+            char c = iban.charAt(i);
+            if (!isDigit(c) && !isUpperLetter(c)) {
+                return false;
+            }
         }
+        return mod97(iban) == 1;
+    }
+    
+    private static SecureRandom random() {
+        if (Thread.currentThread().isVirtual()) {
+            return SHARED_RANDOMS[ThreadLocalRandom.current().nextInt(SHARED_RANDOMS.length)];
+        }
+        return RANDOM.get();
+    }
+    
+    private static void fill(char[] buffer, long accountPart) {
+        System.arraycopy(PREFIX, 0, buffer, 0, PREFIX.length);
         
-        // Construction du numéro de compte de base
-        String baseAccount = BANK_CODE + BRANCH_CODE + accountPart.toString();
+        // Écriture des 11 chiffres de la partie compte
+        for (int i = ACCOUNT_PART_OFFSET + ACCOUNT_PART_LENGTH - 1; i >= ACCOUNT_PART_OFFSET; i--) {
+            buffer[i] = (char) ('0' + accountPart % 10);
+            accountPart /= 10;
+        }
         
         // Calcul de la clé RIB (simplifié)
-        int key = calculateRibKey(BANK_CODE, BRANCH_CODE, accountPart.toString());
+        long sum = BANK_BRANCH_WEIGHTED_SUM + weightedSum(buffer, ACCOUNT_PART_OFFSET, ACCOUNT_PART_LENGTH, 11);
+        writeTwoDigits(buffer, IBAN_LENGTH - 2, (int) (97 - (sum % 97)));
         
-        // Construction de l'IBAN complet
-        String ibanWithoutKey = COUNTRY_CODE + "00" + baseAccount + String.format("%02d", key);
-        int ibanKey = calculateIbanKey(ibanWithoutKey);
-        
-        return COUNTRY_CODE + String.format("%02d", ibanKey) + baseAccount + String.format("%02d", key);
+        // Clé IBAN calculée sur le numéro complet avec "00" comme clé provisoire
+        writeTwoDigits(buffer, 2, 98 - mod97(buffer));
     }
     
-    private int calculateRibKey(String bankCode, String branchCode, String accountNumber) {
-        // Calcul simplifié de la clé RIB
+    /**
+     * Somme des chiffres pondérés par leur position (1 pour le premier chiffre de la banque)
+     */
+    private static long weightedSum(char[] digits, int offset, int length, int firstWeight) {
         long sum = 0;
-        String fullNumber = bankCode + branchCode + accountNumber;
-        
-        for (int i = 0; i < fullNumber.length(); i++) {
-            sum += Character.getNumericValue(fullNumber.charAt(i)) * (i + 1);
+        for (int i = 0; i < length; i++) {
+            sum += (digits[offset + i] - '0') * (long) (firstWeight + i);
         }
-        
-        return (int) (97 - (sum % 97));
+        return sum;
     }
     
-    private int calculateIbanKey(String iban) {
-        // Déplacement des 4 premiers caractères à la fin
-        String rearranged = iban.substring(4) + iban.substring(0, 4);
-        
-        // Remplacement des lettres par des chiffres (A=10, B=11, etc.)
-        StringBuilder numeric = new StringBuilder();
-        for (char c : rearranged.toCharArray()) {
-            if (Character.isLetter(c)) {
-                numeric.append(c - 'A' + 10);
-            } else {
-                numeric.append(c);
-            }
+    /**
+     * Modulo 97 de l'IBAN réarrangé (les 4 premiers caractères déplacés à la fin, lettres A=10 ... Z=35),
+     * calculé par blocs sur un {@code long} sans construire la chaîne numérique.
+     */
+    private static int mod97(CharSequence iban) {
+        long remainder = 0;
+        int length = iban.length();
+        for (int i = 0; i < length; i++) {
+            remainder = accumulate(remainder, iban.charAt((i + 4) % length));
         }
-        
-        // Calcul du modulo 97
+        return (int) (remainder % 97);
+    }
+    
+    private static int mod97(char[] iban) {
         long remainder = 0;
-        for (char digit : numeric.toString().toCharArray()) {
-            remainder = (remainder * 10 + Character.getNumericValue(digit)) % 97;
+        for (int i = 0; i < iban.length; i++) {
+            remainder = accumulate(remainder, iban[(i + 4) % iban.length]);
         }
-        
-        return (int) (98 - remainder);
+        return (int) (remainder % 97);
+    }
+    
+    /**
+     * Ajoute un caractère au reste courant ; la réduction modulo 97 n'est faite
+     * que lorsque le reste approche la capacité d'un {@code long}
+     */
+    private static long accumulate(long remainder, char c) {
+        long next = isDigit(c) ? remainder * 10 + (c - '0') : remainder * 100 + (c - 'A' + 10);
+        return next >= 100_000_000_000_000L ? next % 97 : next;
+    }
+    
+    private static void writeTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static boolean isUpperLetter(char c) {
+        return c >= 'A' && c <= 'Z';
     }
-}
\ No newline at end of file
+}
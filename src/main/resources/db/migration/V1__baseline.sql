@@ -0,0 +1,87 @@
+-- Schéma initial : tables des entités JPA et séquences de blocs (équivalent de schema.sql et de ddl-auto=create)
+
+CREATE SEQUENCE account_number_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE journal_entry_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE TABLE accounts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_number VARCHAR(34) NOT NULL UNIQUE,
+    account_holder VARCHAR(100) NOT NULL,
+    balance NUMERIC(15,2) NOT NULL,
+    account_type VARCHAR(20) NOT NULL CHECK (account_type IN ('BUSINESS','CHECKING','SAVINGS')),
+    is_active BOOLEAN,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    version BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE operators (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    phone VARCHAR(20),
+    is_active BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE journal_entries (
+    id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    type TINYINT NOT NULL CHECK (type BETWEEN 0 AND 5),
+    amount NUMERIC(15,2) NOT NULL,
+    balance_after NUMERIC(15,2) NOT NULL,
+    counterparty_account_id BIGINT,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_journal_account_time ON journal_entries (account_id, occurred_at, id);
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    account_number VARCHAR(34) NOT NULL,
+    event_type VARCHAR(20) NOT NULL CHECK (event_type IN ('DEPOSIT','FEE','INTEREST','TRANSFER_IN','TRANSFER_OUT','WITHDRAWAL')),
+    amount NUMERIC(15,2) NOT NULL,
+    balance_after NUMERIC(15,2) NOT NULL,
+    counterparty_account_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_outbox_created_at ON outbox_events (created_at);
+
+CREATE TABLE outbox_offsets (
+    consumer VARCHAR(100) NOT NULL,
+    position BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (consumer)
+);
+
+CREATE TABLE snapshot_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    started_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    account_count BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE balance_snapshots (
+    run_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    balance NUMERIC(15,2) NOT NULL,
+    captured_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (account_id, run_id)
+);
+CREATE INDEX idx_snapshot_account_time ON balance_snapshots (account_id, captured_at);
+
+CREATE TABLE idempotency_records (
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_fingerprint VARCHAR(255) NOT NULL,
+    response_status INTEGER,
+    response_body VARCHAR(4000),
+    created_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    PRIMARY KEY (idempotency_key)
+);
+CREATE INDEX idx_idempotency_created_at ON idempotency_records (created_at);
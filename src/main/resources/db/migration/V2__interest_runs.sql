@@ -0,0 +1,15 @@
+-- Une ligne par date de valeur traitée : empêche d'appliquer deux fois les intérêts et les frais d'une même date
+
+CREATE TABLE interest_runs (
+    value_date DATE NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    account_count BIGINT,
+    interest_credited BIGINT,
+    fees_charged BIGINT,
+    fees_rejected BIGINT,
+    total_interest NUMERIC(15,2),
+    total_fees NUMERIC(15,2),
+    elapsed_ms BIGINT,
+    PRIMARY KEY (value_date)
+);
@@ -0,0 +1,5 @@
+-- Séquence des blocs de numéros de compte (un appel réserve banking.account-number.block-size numéros)
+CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 1 INCREMENT BY 1;
+
+-- Séquence des blocs d'identifiants de l'outbox (un appel réserve banking.outbox.block-size identifiants)
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq START WITH 1 INCREMENT BY 1;
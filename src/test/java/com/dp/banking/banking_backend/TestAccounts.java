@@ -0,0 +1,30 @@
+package com.dp.banking.banking_backend;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Création de comptes pour les tests, par {@link AccountService#save} : le numéro est un IBAN valide attribué
+ * par l'allocateur et le compte passe par les mêmes validations que ceux créés par l'API.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestAccounts {
+    
+    private final AccountService accountService;
+    
+    public Account create(Money balance) {
+        return create(Account.AccountType.CHECKING, balance);
+    }
+    
+    public Account create(Account.AccountType type, Money balance) {
+        Account account = new Account();
+        account.setAccountHolder("Test " + type.name().toLowerCase());
+        account.setAccountType(type);
+        account.setBalance(balance);
+        return accountService.save(account);
+    }
+}
@@ -0,0 +1,77 @@
+package com.dp.banking.banking_backend.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    void tokenBucketAllowsBurstThenRefillsAtRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 3, 100);
+        long now = 1_000 * SECOND;
+        AtomicLong bucket = new AtomicLong(now);
+        
+        assertThat(limiter.tryAcquire(bucket, now)).isZero();
+        assertThat(limiter.tryAcquire(bucket, now)).isZero();
+        assertThat(limiter.tryAcquire(bucket, now)).isZero();
+        assertThat(limiter.tryAcquire(bucket, now)).isEqualTo(SECOND / 2);
+        
+        assertThat(limiter.tryAcquire(bucket, now + SECOND / 2)).isZero();
+        assertThat(limiter.tryAcquire(bucket, now + SECOND / 2)).isPositive();
+        assertThat(limiter.tryAcquire(bucket, now + 10 * SECOND)).isZero();
+    }
+    
+    @Test
+    void concurrencyLimitShrinksWhenLatencyDriftsAndGrowsWhenHealthy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit()).isEqualTo(3);
+        
+        long now = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100), 4, now + i * TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(limiter.limit()).isEqualTo(1);
+    }
+    
+    @Test
+    void filterThrottlesPerClientOnApiPathsOnly() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(true, "X-Client-Id", 1, 1, 100, 10, 1, 10, 2.0, 10);
+        
+        assertThat(call(filter, "/api/accounts/1", "a").getStatus()).isEqualTo(HttpStatus.OK.value());
+        MockHttpServletResponse throttled = call(filter, "/api/accounts/1", "a");
+        assertThat(throttled.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(call(filter, "/api/accounts/1", "b").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(call(filter, "/swagger-ui.html", "a").getStatus()).isEqualTo(HttpStatus.OK.value());
+        
+        AdmissionControlFilter.Stats stats = filter.stats();
+        assertThat(stats.admitted()).isEqualTo(2);
+        assertThat(stats.throttled()).isEqualTo(1);
+        assertThat(stats.shed()).isZero();
+    }
+    
+    private static MockHttpServletResponse call(AdmissionControlFilter filter, String uri, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
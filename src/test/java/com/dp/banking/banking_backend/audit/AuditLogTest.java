@@ -0,0 +1,38 @@
+package com.dp.banking.banking_backend.audit;
+
+import com.dp.banking.banking_backend.event.BankingOperationEvent;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+    
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    
+    @Test
+    void formatsOneJsonObjectPerMovement() {
+        LocalDateTime occurredAt = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_000_000);
+        String line = AuditLog.format(new BankingOperationEvent(7L, "FR7630006000011234567890189",
+                OperationType.TRANSFER_OUT, Money.of("1234.05"), Money.ofMinor(-7), 9L, occurredAt));
+        
+        JsonNode json = mapper.readTree(line);
+        assertThat(json.get("occurredAt").asString()).isEqualTo("2026-03-01T09:30:15.123");
+        assertThat(json.get("type").asString()).isEqualTo("TRANSFER_OUT");
+        assertThat(json.get("accountId").asLong()).isEqualTo(7);
+        assertThat(json.get("accountNumber").asString()).isEqualTo("FR7630006000011234567890189");
+        assertThat(json.get("amount").decimalValue()).isEqualByComparingTo("1234.05");
+        assertThat(json.get("balanceAfter").decimalValue()).isEqualByComparingTo("-0.07");
+        assertThat(json.get("counterpartyAccountId").asLong()).isEqualTo(9);
+        
+        String deposit = AuditLog.format(BankingOperationEvent.of(7L, "FR7630006000011234567890189",
+                OperationType.DEPOSIT, Money.of(10), Money.of("10.50")));
+        assertThat(deposit).contains("\"amount\":10.00,\"balanceAfter\":10.50}");
+        assertThat(mapper.readTree(deposit).has("counterpartyAccountId")).isFalse();
+    }
+}
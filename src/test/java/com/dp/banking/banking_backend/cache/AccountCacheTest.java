@@ -0,0 +1,88 @@
+package com.dp.banking.banking_backend.cache;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountCacheTest {
+    
+    private final AccountCache cache = new AccountCache(true, 100, 60);
+    
+    @Test
+    void repeatedReadsByIdAndNumberHitTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Account account = account(1L, 0L, "100.00");
+        
+        cache.getById(1L, id -> { loads.incrementAndGet(); return Optional.of(account); });
+        cache.getById(1L, id -> { loads.incrementAndGet(); return Optional.of(account); });
+        cache.getByAccountNumber(account.getAccountNumber(), number -> { loads.incrementAndGet(); return Optional.of(account); });
+        
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+    
+    @Test
+    void olderVersionNeverReplacesNewerOne() {
+        cache.put(account(1L, 2L, "300.00"));
+        cache.put(account(1L, 1L, "200.00"));
+        
+        assertThat(cache.getById(1L, id -> Optional.empty()).orElseThrow().getBalance()).isEqualTo(Money.of("300.00"));
+    }
+    
+    @Test
+    void evictionRemovesBothKeys() {
+        Account account = account(1L, 0L, "100.00");
+        cache.put(account);
+        cache.evict(1L);
+        
+        assertThat(cache.getById(1L, id -> Optional.empty())).isEmpty();
+        assertThat(cache.getByAccountNumber(account.getAccountNumber(), number -> Optional.empty())).isEmpty();
+    }
+    
+    @Test
+    void readStartedBeforeAnEvictionDoesNotRestoreTheRow() {
+        Account account = account(1L, 0L, "100.00");
+        
+        Optional<Account> read = cache.getById(1L, id -> {
+            cache.evict(1L);
+            return Optional.of(account);
+        });
+        
+        assertThat(read).isPresent();
+        assertThat(cache.getById(1L, id -> Optional.empty())).isEmpty();
+        assertThat(cache.getByAccountNumber(account.getAccountNumber(), number -> Optional.empty())).isEmpty();
+        
+        cache.getById(1L, id -> Optional.of(account));
+        assertThat(cache.getById(1L, id -> Optional.empty())).isPresent();
+    }
+    
+    @Test
+    void callersNeverShareTheCachedInstance() {
+        Account account = account(1L, 0L, "100.00");
+        cache.put(account);
+        account.setBalance(Money.of("999.00"));
+        
+        Account first = cache.getById(1L, id -> Optional.empty()).orElseThrow();
+        first.setBalance(Money.of("0.00"));
+        Account second = cache.getByAccountNumber(account.getAccountNumber(), number -> Optional.empty()).orElseThrow();
+        
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getBalance()).isEqualTo(Money.of("100.00"));
+    }
+    
+    private static Account account(Long id, Long version, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setVersion(version);
+        account.setAccountNumber("FR7630001007941234567890185");
+        account.setAccountHolder("Alice Dubois");
+        account.setBalance(Money.of(balance));
+        return account;
+    }
+}
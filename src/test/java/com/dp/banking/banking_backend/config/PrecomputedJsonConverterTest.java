@@ -0,0 +1,133 @@
+package com.dp.banking.banking_backend.config;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.controller.AccountController;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:jsonconvertertest")
+class PrecomputedJsonConverterTest {
+    
+    @Autowired
+    private WebApplicationContext context;
+    
+    @Autowired
+    private PrecomputedJsonConverter converter;
+    
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+    
+    @Test
+    void converterComesBeforeTheGenericJacksonConverter() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+        int own = converters.indexOf(converter);
+        
+        assertThat(own).isNotNegative();
+        for (int i = 0; i < own; i++) {
+            assertThat(converters.get(i).canWrite(AccountResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        }
+    }
+    
+    @Test
+    void malformedJsonIsRejectedWith400() throws Exception {
+        mockMvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON).content("{\"accountHolder\": "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/accounts/batch").contentType(MediaType.APPLICATION_JSON).content("[{\"type\": \"DEPOSIT\","))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void requestIsReadAndResponseWrittenByTheConverter() throws Exception {
+        mockMvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountHolder\": \"Jean Dupont\", \"balance\": 42.50, \"accountType\": \"SAVINGS\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.accountHolder").value("Jean Dupont"))
+                .andExpect(jsonPath("$.accountType").value("SAVINGS"))
+                .andExpect(jsonPath("$.balance").value(42.5));
+        
+        Account account = testAccounts.create(Money.of("10.00"));
+        mockMvc.perform(post("/api/accounts/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"type\": \"DEPOSIT\", \"accountId\": " + account.getId() + ", \"amount\": 5}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].balance").value(15.0));
+    }
+    
+    @Test
+    void pagedListIsWrittenLikeTheGenericJacksonOutput() throws Exception {
+        Account first = testAccounts.create(Money.of("1.00"));
+        Account second = testAccounts.create(Money.of("2.50"));
+        testAccounts.create(Money.of("3.00"));
+        List<AccountResponse> expected = AccountResponse.from(List.of(reload(first), reload(second)));
+        
+        mockMvc.perform(get("/api/accounts").param("after", String.valueOf(first.getId() - 1)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(AccountController.NEXT_CURSOR_HEADER, String.valueOf(second.getId())))
+                .andExpect(content().json(jsonMapper.writeValueAsString(expected), JsonCompareMode.STRICT));
+    }
+    
+    @Test
+    void exportWritesEachAccountWithThePrecomputedWriter() throws Exception {
+        Account account = testAccounts.create(Account.AccountType.BUSINESS, Money.of("99.99"));
+        String expected = jsonMapper.writeValueAsString(AccountResponse.from(reload(account)));
+        
+        MvcResult started = mockMvc.perform(get("/api/accounts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        
+        assertThat(body).endsWith("\n");
+        assertThat(body.split("\n")).hasSize((int) accountRepository.count()).contains(expected);
+    }
+    
+    private Account reload(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow();
+    }
+}
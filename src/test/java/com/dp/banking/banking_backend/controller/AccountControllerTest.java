@@ -0,0 +1,203 @@
+package com.dp.banking.banking_backend.controller;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.dto.JournalEntryResponse;
+import com.dp.banking.banking_backend.idempotency.IdempotencyStore;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:accountapitest")
+class AccountControllerTest {
+    
+    @Autowired
+    private WebApplicationContext context;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+    
+    @Test
+    void cursorWalksEveryAccountExactlyOnce() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            testAccounts.create(Money.of(i));
+        }
+        
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/accounts").param("limit", "2");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            AccountResponse[] page = jsonMapper.readValue(result.getResponse().getContentAsString(), AccountResponse[].class);
+            assertThat(page.length).isLessThanOrEqualTo(2);
+            for (AccountResponse account : page) {
+                ids.add(account.id());
+            }
+            cursor = result.getResponse().getHeader(AccountController.NEXT_CURSOR_HEADER);
+            if (cursor != null) {
+                assertThat(page).hasSize(2);
+                assertThat(cursor).isEqualTo(String.valueOf(page[1].id()));
+            }
+        } while (cursor != null);
+        
+        assertThat(ids).isSorted().doesNotHaveDuplicates().hasSize((int) accountRepository.count());
+        
+        mockMvc.perform(get("/api/accounts").param("after", String.valueOf(ids.getLast())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty())
+                .andExpect(header().doesNotExist(AccountController.NEXT_CURSOR_HEADER));
+    }
+    
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/accounts").param("after", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/accounts/active").param("after", "1.5"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void exportStreamsOneJsonAccountPerLine() throws Exception {
+        Account inactive = testAccounts.create(Money.of("12.34"));
+        inactive.setIsActive(false);
+        accountRepository.save(inactive);
+        
+        List<AccountResponse> all = export("/api/accounts/export");
+        List<AccountResponse> active = export("/api/accounts/export?activeOnly=true");
+        
+        assertThat(all).hasSize((int) accountRepository.count());
+        assertThat(all).extracting(AccountResponse::id).isSorted();
+        assertThat(all).filteredOn(account -> account.id().equals(inactive.getId()))
+                .singleElement()
+                .satisfies(account -> {
+                    assertThat(account.accountNumber()).isEqualTo(inactive.getAccountNumber());
+                    assertThat(account.balance()).isEqualTo(Money.of("12.34"));
+                });
+        assertThat(active).hasSize(all.size() - (int) all.stream().filter(account -> !account.isActive()).count());
+        assertThat(active).extracting(AccountResponse::id).doesNotContain(inactive.getId());
+    }
+    
+    @Test
+    void malformedIdempotencyKeyIsRejectedBeforeExecution() throws Exception {
+        Account account = testAccounts.create(Money.of("50.00"));
+        String deposit = "{\"amount\": 10}";
+        
+        for (String key : List.of(" ", "k".repeat(256))) {
+            mockMvc.perform(post("/api/accounts/{id}/deposit", account.getId())
+                            .header(IdempotencyStore.HEADER, key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(deposit))
+                    .andExpect(status().isBadRequest());
+        }
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualTo(Money.of("50.00"));
+        
+        String key = "k".repeat(255);
+        mockMvc.perform(post("/api/accounts/{id}/deposit", account.getId())
+                        .header(IdempotencyStore.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(deposit))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/accounts/{id}/withdraw", account.getId())
+                        .header(IdempotencyStore.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(deposit))
+                .andExpect(status().isUnprocessableContent());
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualTo(Money.of("60.00"));
+    }
+    
+    @Test
+    void transactionHistoryIsReturnedAsResponseRecords() throws Exception {
+        Account account = testAccounts.create(Money.of("20.00"));
+        mockMvc.perform(post("/api/accounts/{id}/deposit", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 5}"))
+                .andExpect(status().isOk());
+        
+        MvcResult result = mockMvc.perform(get("/api/accounts/{id}/transactions", account.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        JournalEntryResponse[] entries = jsonMapper.readValue(result.getResponse().getContentAsString(), JournalEntryResponse[].class);
+        
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.accountId()).isEqualTo(account.getId());
+            assertThat(entry.type()).isEqualTo(OperationType.DEPOSIT);
+            assertThat(entry.amount()).isEqualTo(Money.of("5.00"));
+            assertThat(entry.balanceAfter()).isEqualTo(Money.of("25.00"));
+        });
+    }
+    
+    @Test
+    void updateNeverChangesTheBalance() throws Exception {
+        Account account = testAccounts.create(Money.of("20.00"));
+        
+        mockMvc.perform(put("/api/accounts/{id}", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountHolder\": \"Nouveau Titulaire\", \"balance\": 5000, \"accountType\": \"SAVINGS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountHolder").value("Nouveau Titulaire"))
+                .andExpect(jsonPath("$.accountType").value("SAVINGS"))
+                .andExpect(jsonPath("$.balance").value(20.0));
+        
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualTo(Money.of("20.00"));
+    }
+    
+    private List<AccountResponse> export(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AccountController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                accounts.add(jsonMapper.readValue(line, AccountResponse.class));
+            }
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,147 @@
+package com.dp.banking.banking_backend.idempotency;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.controller.AccountController;
+import com.dp.banking.banking_backend.dto.AccountResponse;
+import com.dp.banking.banking_backend.dto.AmountRequest;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class IdempotencyStoreTest {
+    
+    private static final int THREADS = 8;
+    
+    @Autowired
+    private AccountController accountController;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void retriedDepositIsAppliedOnceAndReplayed() {
+        Account account = testAccounts.create(Money.of("100.00"));
+        String key = UUID.randomUUID().toString();
+        
+        ResponseEntity<AccountResponse> first = accountController.deposit(account.getId(), key, new AmountRequest(Money.of("10.00")));
+        ResponseEntity<AccountResponse> retry = accountController.deposit(account.getId(), key, new AmountRequest(Money.of("10.00")));
+        
+        assertThat(first.getHeaders().containsHeader(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(balance(account)).isEqualTo(Money.of("110.00"));
+        
+        ResponseEntity<AccountResponse> reused = accountController.withdraw(account.getId(), key, new AmountRequest(Money.of("10.00")));
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_CONTENT);
+        assertThat(balance(account)).isEqualTo(Money.of("110.00"));
+    }
+    
+    @Test
+    void evictedKeyIsReplayedFromDatabase() {
+        Account account = testAccounts.create(Money.of("100.00"));
+        String key = UUID.randomUUID().toString();
+        
+        ResponseEntity<AccountResponse> first = accountController.withdraw(account.getId(), key, new AmountRequest(Money.of("30.00")));
+        idempotencyStore.evict(key);
+        ResponseEntity<AccountResponse> retry = accountController.withdraw(account.getId(), key, new AmountRequest(Money.of("30.00")));
+        
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(balance(account)).isEqualTo(Money.of("70.00"));
+    }
+    
+    @Test
+    void validationFailureReleasesKey() {
+        String key = UUID.randomUUID().toString();
+        
+        assertThatThrownBy(() -> idempotencyStore.execute(key, "test", String.class, () -> {
+            throw new IllegalArgumentException("Montant invalide");
+        })).hasMessage("Montant invalide");
+        
+        assertThat(idempotencyStore.execute(key, "test", String.class, () -> ResponseEntity.ok("ok")).getBody()).isEqualTo("ok");
+    }
+    
+    @Test
+    void failureWithUnknownOutcomeKeepsKeyReserved() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        
+        assertThatThrownBy(() -> idempotencyStore.execute(key, "test", String.class, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("Délai dépassé en attente du moteur de registre");
+        })).isNotInstanceOf(IdempotencyConflictException.class).hasMessageContaining("Délai dépassé");
+        
+        assertThatThrownBy(() -> idempotencyStore.execute(key, "test", String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("ok");
+        })).isInstanceOf(IdempotencyConflictException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyStore.execute(key, "first", String.class, () -> ResponseEntity.ok("ok"));
+        idempotencyStore.evict(key);
+        
+        assertThatThrownBy(() -> idempotencyStore.execute(key, "second", String.class, () -> ResponseEntity.ok("ok")))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+    
+    @Test
+    void concurrentDuplicatesExecuteOnce() throws Exception {
+        Account account = testAccounts.create(Money.of("100.00"));
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return idempotencyStore.execute(key, "deposit", String.class, () -> {
+                    executions.incrementAndGet();
+                    accountController.deposit(account.getId(), null, new AmountRequest(Money.of("5.00")));
+                    return ResponseEntity.ok("applied");
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<ResponseEntity<String>> future : futures) {
+            assertThat(future.get().getBody()).isEqualTo("applied");
+        }
+        executor.shutdown();
+        
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(balance(account)).isEqualTo(Money.of("105.00"));
+    }
+    
+    private Money balance(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,186 @@
+package com.dp.banking.banking_backend.importer;
+
+import com.dp.banking.banking_backend.dto.ImportReport;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "banking.import.batch-size=2",
+        "spring.datasource.url=jdbc:h2:mem:importtest"})
+class AccountImportServiceTest {
+    
+    @Autowired
+    private AccountImportService accountImportService;
+    
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void importsValidRowsAndReportsEachRejectedLine() {
+        String first = newIban();
+        String second = newIban();
+        String invalid = first.substring(0, 26) + (first.charAt(26) == '0' ? '1' : '0');
+        String seeded = accountNumberGenerator.generateAccountNumber(12345678901L);
+        String csv = """
+                accountHolder,balance,accountNumber,accountType
+                "Dupont, Jean ""JD\"\"\",100.00,%s,SAVINGS
+                Martin,50,,
+                Bad Key,10,%s,
+                Dupont bis,1,%s,
+                Alice bis,1,%s,
+                X,5,,
+                Negative,-1,,
+                Too few,1
+                Gold,1,,GOLD
+
+                Durand,7.5,%s,BUSINESS
+                """.formatted(first, invalid, first, seeded, second);
+        
+        ImportReport report = accountImportService.importAccounts(stream(csv), ImportFormat.CSV);
+        
+        assertThat(report.rows()).isEqualTo(10);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(7);
+        assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(report.errors().get(0).message()).contains("IBAN");
+        assertThat(report.errors().get(1).message()).contains("existe déjà");
+        assertThat(report.errors().get(2).message()).contains("existe déjà");
+        
+        Account imported = accountRepository.findByAccountNumber(first).orElseThrow();
+        assertThat(imported.getAccountHolder()).isEqualTo("Dupont, Jean \"JD\"");
+        assertThat(imported.getAccountType()).isEqualTo(Account.AccountType.SAVINGS);
+        assertThat(imported.getBalance()).isEqualTo(Money.of("100.00"));
+        assertThat(accountRepository.findByAccountNumber(second).orElseThrow().getBalance()).isEqualTo(Money.of("7.50"));
+        
+        assertThatThrownBy(() -> accountImportService.importAccounts(stream("holder,balance\n"), ImportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void ndjsonLinesAreParsedIndependently() {
+        String iban = newIban();
+        String ndjson = """
+                {"accountNumber":"%s","accountHolder":"Petit","balance":12.34,"isActive":false}
+                {"accountHolder":"Roux","balance":"bad"
+                {"accountHolder":"Leroy","balance":0}
+                """.formatted(iban);
+        
+        ImportReport report = accountImportService.importAccounts(stream(ndjson), ImportFormat.NDJSON);
+        
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).singleElement().extracting(ImportReport.RowError::line).isEqualTo(2L);
+        Account imported = accountRepository.findByAccountNumber(iban).orElseThrow();
+        assertThat(imported.getIsActive()).isFalse();
+        assertThat(imported.getAccountType()).isEqualTo(Account.AccountType.CHECKING);
+    }
+    
+    @Test
+    void reimportedFileIsCheckedSliceBySlice() {
+        List<String> numbers = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("accountNumber,accountHolder,balance\n");
+        for (int i = 0; i < 7; i++) {
+            numbers.add(newIban());
+            csv.append(numbers.get(i)).append(",Client ").append(i).append(",1\n");
+        }
+        assertThat(accountImportService.importAccounts(stream(csv.toString()), ImportFormat.CSV).imported()).isEqualTo(7);
+        
+        // Le nouveau numéro est inséré directement ; sa répétition est vérifiée une fois le lot en cours validé
+        String fresh = newIban();
+        csv.append(fresh).append(",Nouveau,1\n")
+                .append(numbers.get(0)).append(",Doublon,1\n")
+                .append(fresh).append(",Nouveau bis,1\n");
+        ImportReport report = accountImportService.importAccounts(stream(csv.toString()), ImportFormat.CSV);
+        
+        assertThat(report.rows()).isEqualTo(10);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(9);
+        assertThat(report.errors()).extracting(ImportReport.RowError::line)
+                .containsExactly(2L, 3L, 4L, 5L, 6L, 7L, 8L, 10L, 11L);
+        assertThat(report.errors()).extracting(ImportReport.RowError::message).containsOnly("Un compte avec ce numéro existe déjà");
+        assertThat(accountRepository.findByAccountNumber(fresh).orElseThrow().getAccountHolder()).isEqualTo("Nouveau");
+    }
+    
+    @Test
+    void secondImportIsRefusedWhileOneIsRunning() throws Exception {
+        PipedOutputStream upload = new PipedOutputStream();
+        CountDownLatch reading = new CountDownLatch(1);
+        InputStream input = new FilterInputStream(new PipedInputStream(upload)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                reading.countDown();
+                return super.read(buffer, offset, length);
+            }
+        };
+        upload.write("accountHolder,balance\n".getBytes(StandardCharsets.UTF_8));
+        upload.flush();
+        CompletableFuture<ImportReport> first = CompletableFuture.supplyAsync(
+                () -> accountImportService.importAccounts(input, ImportFormat.CSV));
+        
+        try {
+            assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(() -> accountImportService.importAccounts(stream("accountHolder,balance\n"), ImportFormat.CSV))
+                    .isInstanceOf(ImportAlreadyRunningException.class);
+        } finally {
+            upload.write("Lent,1\n".getBytes(StandardCharsets.UTF_8));
+            upload.close();
+        }
+        assertThat(first.get(10, TimeUnit.SECONDS).imported()).isEqualTo(1);
+    }
+    
+    @Test
+    void streamFailureReportsPartialProgress() {
+        String committed = newIban();
+        String csv = "accountNumber,accountHolder,balance\n"
+                + committed + ",Premier,1\n"
+                + newIban() + ",Second,2\n"
+                + newIban() + ",En attente,3\n";
+        InputStream failing = new SequenceInputStream(stream(csv), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connexion perdue");
+            }
+        });
+        
+        assertThatThrownBy(() -> accountImportService.importAccounts(failing, ImportFormat.CSV))
+                .isInstanceOfSatisfying(ImportFailedException.class, e -> {
+                    assertThat(e.getCause()).isInstanceOf(IOException.class);
+                    assertThat(e.report().rows()).isEqualTo(3);
+                    assertThat(e.report().imported()).isEqualTo(2);
+                });
+        assertThat(accountRepository.findByAccountNumber(committed)).isPresent();
+    }
+    
+    private String newIban() {
+        return accountNumberGenerator.generateAccountNumber(ThreadLocalRandom.current().nextLong(90_000_000_000L, 100_000_000_000L));
+    }
+    
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.dp.banking.banking_backend.journal;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.dto.BatchInstruction;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.JournalEntry;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.service.AccountService;
+import com.dp.banking.banking_backend.service.BatchTransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TransactionJournalTest {
+    
+    @Autowired
+    private TransactionJournal transactionJournal;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void historyIsPagedFromMostRecentWithStableCursor() {
+        Account account = testAccounts.create(Money.of("100.00"));
+        Account other = testAccounts.create(Money.ZERO);
+        
+        accountService.deposit(account.getId(), Money.of("10.00"));
+        accountService.withdraw(account.getId(), Money.of("20.00"));
+        assertThatThrownBy(() -> accountService.withdraw(account.getId(), Money.of("500.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        accountService.transfer(account.getId(), other.getId(), Money.of("30.00"));
+        accountService.deposit(account.getId(), Money.of("5.00"));
+        
+        List<JournalEntry> firstPage = transactionJournal.history(account.getId(), null, null, null, 3);
+        List<JournalEntry> secondPage = transactionJournal.history(account.getId(), firstPage.get(2).getId(), null, null, 3);
+        
+        assertThat(firstPage).extracting(JournalEntry::getType)
+                .containsExactly(OperationType.DEPOSIT, OperationType.TRANSFER_OUT, OperationType.WITHDRAWAL);
+        assertThat(secondPage).extracting(JournalEntry::getType).containsExactly(OperationType.DEPOSIT);
+        assertThat(firstPage.get(0).getBalanceAfter()).isEqualTo(Money.of("65.00"));
+        assertThat(firstPage.get(1).getCounterpartyAccountId()).isEqualTo(other.getId());
+        assertThat(transactionJournal.history(other.getId(), null, null, null, 10))
+                .extracting(JournalEntry::getType).containsExactly(OperationType.TRANSFER_IN);
+        assertThat(transactionJournal.history(account.getId(), null, LocalDateTime.now().plusDays(1), null, 10)).isEmpty();
+    }
+    
+    @Test
+    void singleAccountRangeScanIgnoresOtherAccountsEntries() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(testAccounts.create(Money.ZERO));
+        }
+        List<BatchInstruction> instructions = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            instructions.add(new BatchInstruction(BatchInstruction.Type.DEPOSIT, accounts.get(i % 20).getId(), null, Money.of(1)));
+        }
+        batchTransactionService.execute(instructions);
+        Long accountId = accounts.get(7).getId();
+        
+        int read = 0;
+        Long before = null;
+        List<JournalEntry> page;
+        do {
+            page = transactionJournal.history(accountId, before, null, null, 100);
+            assertThat(page).allMatch(entry -> entry.getAccountId().equals(accountId));
+            read += page.size();
+            before = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+        } while (page.size() == 100);
+        
+        assertThat(read).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,130 @@
+package com.dp.banking.banking_backend.ledger;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"banking.ledger.enabled=true", "banking.ledger.shards=4", "spring.datasource.url=jdbc:h2:mem:ledgertest"})
+class LedgerEngineTest {
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private AccountCache accountCache;
+    
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+    
+    @Test
+    void concurrentMutationsThroughShardsConserveMoney() throws Exception {
+        Account hot = testAccounts.create(Account.AccountType.BUSINESS, Money.of("100.00"));
+        AtomicInteger withdrawals = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        if ((threadIndex + i) % 2 == 0) {
+                            accountService.deposit(hot.getId(), Money.of(1));
+                        } else {
+                            try {
+                                accountService.withdraw(hot.getId(), Money.of("2.00"));
+                                withdrawals.incrementAndGet();
+                            } catch (IllegalArgumentException e) {
+                                // solde insuffisant : rejet attendu
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        Money expected = Money.of("100.00")
+                .plus(Money.of(1600))
+                .minus(Money.ofMinor(200L * withdrawals.get()));
+        assertThat(accountRepository.findById(hot.getId()).orElseThrow().getBalance()).isEqualTo(expected);
+    }
+    
+    @Test
+    void rejectsUnknownAccountAndInsufficientFunds() {
+        Account account = testAccounts.create(Account.AccountType.BUSINESS, Money.of("10.00"));
+        
+        assertThat(accountService.deposit(account.getId(), Money.of("5.00")).getBalance())
+                .isEqualTo(Money.of("15.00"));
+        assertThatThrownBy(() -> accountService.withdraw(account.getId(), Money.of("20.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Solde insuffisant");
+        assertThatThrownBy(() -> accountService.deposit(Long.MAX_VALUE, Money.of(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void deadShardFailsPendingAndLaterOperationsInsteadOfBlocking() throws Exception {
+        Account account = testAccounts.create(Account.AccountType.BUSINESS, Money.of("10.00"));
+        LedgerEngine engine = new LedgerEngine(accountRepository, transactionTemplate, accountCache, event -> {
+            throw new Error("panne simulée du shard");
+        }, serviceMetrics, true, 1, 16, 100, 5_000);
+        engine.start();
+        try {
+            assertThatThrownBy(() -> engine.deposit(account.getId(), Money.of(1)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("arrêté");
+            assertThatThrownBy(() -> engine.deposit(account.getId(), Money.of(1)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("arrêté");
+        } finally {
+            engine.stop();
+        }
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualTo(Money.of("10.00"));
+    }
+    
+    @Test
+    void submissionsAfterStopAreRejected() throws Exception {
+        Account account = testAccounts.create(Account.AccountType.BUSINESS, Money.of("10.00"));
+        LedgerEngine engine = new LedgerEngine(accountRepository, transactionTemplate, accountCache, event -> {
+        }, serviceMetrics, true, 2, 16, 100, 5_000);
+        engine.start();
+        assertThat(engine.deposit(account.getId(), Money.of(1)).getBalance()).isEqualTo(Money.of("11.00"));
+        engine.stop();
+        
+        assertThatThrownBy(() -> engine.withdraw(account.getId(), Money.of(1), Money.ZERO))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dp.banking.banking_backend.metrics;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class ServiceMetricsTest {
+    
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+    
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void histogramBucketsAreContiguousAndPercentilesAccurate() {
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.index(value);
+            assertThat(value).isLessThanOrEqualTo(LatencyHistogram.highestValue(index));
+            assertThat(index == 0 || value > LatencyHistogram.highestValue(index - 1)).isTrue();
+        }
+        assertThat(LatencyHistogram.highestValue(LatencyHistogram.index(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        
+        LatencyHistogram histogram = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record(random.nextLong(1_000, 1_001_000));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(1);
+        assertThat(snapshot.count()).isEqualTo(100_000);
+        assertThat(snapshot.p50()).isCloseTo(501_000, within(501_000 * 0.04));
+        assertThat(snapshot.p99()).isCloseTo(991_000, within(991_000 * 0.04));
+        assertThat(snapshot.max()).isLessThan(1_001_000);
+    }
+    
+    @Test
+    void serviceOperationsAreTimedAndRejectionsCounted() {
+        Account account = new Account();
+        account.setAccountHolder("Metrics Test");
+        account.setBalance(Money.of("10.00"));
+        account = accountService.save(account);
+        Long id = account.getId();
+        
+        ServiceMetrics.Snapshot before = serviceMetrics.snapshot();
+        long statementsBefore = sqlStatementCounter.currentThread();
+        accountService.deposit(id, Money.of("5.00"));
+        assertThat(sqlStatementCounter.currentThread()).isGreaterThan(statementsBefore);
+        assertThatThrownBy(() -> accountService.withdraw(id, Money.of("100.00"))).hasMessage("Solde insuffisant");
+        assertThatThrownBy(() -> accountService.save(copyOf(accountRepository.findById(id).orElseThrow())))
+                .hasMessage("Un compte avec ce numéro existe déjà");
+        ServiceMetrics.Snapshot after = serviceMetrics.snapshot();
+        
+        assertThat(after.latencyMicros().get("deposit").count()).isEqualTo(before.latencyMicros().get("deposit").count() + 1);
+        assertThat(after.latencyMicros().get("withdraw").count()).isEqualTo(before.latencyMicros().get("withdraw").count() + 1);
+        assertThat(after.counters().get("insufficientFunds")).isEqualTo(before.counters().get("insufficientFunds") + 1);
+        assertThat(after.counters().get("duplicateAccountNumber")).isEqualTo(before.counters().get("duplicateAccountNumber") + 1);
+    }
+    
+    private static Account copyOf(Account existing) {
+        Account copy = new Account();
+        copy.setAccountNumber(existing.getAccountNumber());
+        copy.setAccountHolder(existing.getAccountHolder());
+        copy.setBalance(existing.getBalance());
+        return copy;
+    }
+}
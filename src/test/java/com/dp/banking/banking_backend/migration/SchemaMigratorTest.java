@@ -0,0 +1,44 @@
+package com.dp.banking.banking_backend.migration;
+
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Le schéma produit par les migrations doit correspondre aux entités : Hibernate le valide au démarrage
+ */
+@SpringBootTest(properties = {
+        "banking.schema.migrations.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=never",
+        "spring.datasource.url=jdbc:h2:mem:migrationtest"})
+class SchemaMigratorTest {
+    
+    @Autowired
+    private SchemaMigrator schemaMigrator;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void migrationsAreAppliedOnceAndMatchTheEntities() {
+        int latest = SchemaMigrator.load().getLast().version();
+        
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(version) FROM schema_history", Integer.class)).isEqualTo(latest);
+        assertThat(schemaMigrator.migrate()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_history", Integer.class))
+                .isEqualTo(SchemaMigrator.load().size());
+        
+        Account account = accountRepository.findAll().getFirst();
+        assertThat(account.getAccountNumber()).startsWith("FR").matches(AccountNumberGenerator::isValidIban);
+    }
+}
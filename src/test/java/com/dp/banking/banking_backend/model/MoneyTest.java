@@ -0,0 +1,52 @@
+package com.dp.banking.banking_backend.model;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+    
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    
+    record AmountRequest(Money amount) {
+    }
+    
+    @Test
+    void parsesAndFormatsDecimalAmounts() {
+        assertThat(Money.of("12").minorUnits()).isEqualTo(1200);
+        assertThat(Money.of("12.5").minorUnits()).isEqualTo(1250);
+        assertThat(Money.of("-0.07").minorUnits()).isEqualTo(-7);
+        assertThat(Money.of("1.500")).isEqualTo(Money.of(new BigDecimal("1.5")));
+        assertThat(Money.of("1e3")).isEqualTo(Money.of(1000));
+        assertThat(Money.ofMinor(-123456).toString()).isEqualTo("-1234.56");
+        assertThat(Money.of("0.05").toBigDecimal()).isEqualTo(new BigDecimal("0.05"));
+        
+        assertThatThrownBy(() -> Money.of("1.234")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of("12a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of(".")).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void arithmeticIsOverflowChecked() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        
+        assertThat(Money.of("10.25").plus(Money.of("0.75")).minus(Money.of(1))).isEqualTo(Money.of(10));
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).hasMessage("Dépassement de capacité du montant");
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of("92233720368547758.08")).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void serializesAsJsonNumber() {
+        assertThat(mapper.writeValueAsString(new AmountRequest(Money.of("1234.5")))).isEqualTo("{\"amount\":1234.50}");
+        assertThat(mapper.readValue("{\"amount\": 99.99}", AmountRequest.class).amount()).isEqualTo(Money.ofMinor(9999));
+        assertThat(mapper.readValue("{\"amount\": 7}", AmountRequest.class).amount()).isEqualTo(Money.of(7));
+        assertThat(mapper.readValue("{\"amount\": \"0.10\"}", AmountRequest.class).amount()).isEqualTo(Money.ofMinor(10));
+        assertThatThrownBy(() -> mapper.readValue("{\"amount\": 0.001}", AmountRequest.class))
+                .hasMessageContaining("décimales");
+    }
+}
@@ -0,0 +1,92 @@
+package com.dp.banking.banking_backend.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationPipelineTest {
+    
+    @Test
+    void slowChannelNeverBlocksTheCallerAndOverflowIsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationSender slowSms = new StubSender(Notification.Channel.SMS) {
+            @Override
+            public void send(List<Notification> batch) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        NotificationPipeline pipeline = new NotificationPipeline(List.of(slowSms), 10, 5,
+                NotificationPipeline.OverflowPolicy.DROP_NEWEST, 0);
+        pipeline.start();
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            pipeline.submit(new Notification(Notification.Channel.SMS, "+33600000000", null, "Message %d", i));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(pipeline.stats().submitted()).isEqualTo(1000);
+        assertThat(pipeline.stats().dropped()).isGreaterThan(900);
+        
+        release.countDown();
+        pipeline.stop();
+    }
+    
+    @Test
+    void notificationsForTheSameRecipientAreCoalescedPerBatch() {
+        List<Notification> coalesced = NotificationPipeline.coalesce(List.of(
+                new Notification(Notification.Channel.PUSH, "A", "Opération", "Dépôt de %s", "10"),
+                new Notification(Notification.Channel.PUSH, "B", "Opération", "Retrait de %s", "5"),
+                new Notification(Notification.Channel.PUSH, "A", "Opération", "Dépôt de %s", "20")));
+        
+        assertThat(coalesced).hasSize(2);
+        assertThat(coalesced.get(0).recipient()).isEqualTo("A");
+        assertThat(coalesced.get(0).message()).isEqualTo("Dépôt de 10\nDépôt de 20");
+        assertThat(coalesced.get(1).message()).isEqualTo("Retrait de 5");
+    }
+    
+    @Test
+    void everyChannelIsDeliveredToItsOwnSender() throws Exception {
+        StubSender email = new StubSender(Notification.Channel.EMAIL);
+        NotificationPipeline pipeline = new NotificationPipeline(List.of(email), 100, 10,
+                NotificationPipeline.OverflowPolicy.BLOCK, 50);
+        pipeline.start();
+        
+        pipeline.submit(new Notification(Notification.Channel.EMAIL, "alice@example.com", "Relevé", "Votre relevé"));
+        pipeline.submit(new Notification(Notification.Channel.PUSH, "bob", "Alerte", "Solde bas"));
+        pipeline.stop();
+        
+        assertThat(email.received).extracting(Notification::recipient).containsExactly("alice@example.com");
+        assertThat(pipeline.stats().sent()).isEqualTo(2);
+    }
+    
+    private static class StubSender implements NotificationSender {
+        
+        private final Notification.Channel channel;
+        final List<Notification> received = new CopyOnWriteArrayList<>();
+        
+        StubSender(Notification.Channel channel) {
+            this.channel = channel;
+        }
+        
+        @Override
+        public Notification.Channel channel() {
+            return channel;
+        }
+        
+        @Override
+        public void send(List<Notification> batch) {
+            received.addAll(batch);
+        }
+    }
+}
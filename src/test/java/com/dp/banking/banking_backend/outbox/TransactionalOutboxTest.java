@@ -0,0 +1,149 @@
+package com.dp.banking.banking_backend.outbox;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.dto.BatchInstruction;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.model.OutboxEvent;
+import com.dp.banking.banking_backend.model.OutboxOffset;
+import com.dp.banking.banking_backend.repository.OutboxEventRepository;
+import com.dp.banking.banking_backend.repository.OutboxOffsetRepository;
+import com.dp.banking.banking_backend.service.AccountService;
+import com.dp.banking.banking_backend.service.BatchTransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"banking.outbox.relay.enabled=false", "spring.datasource.url=jdbc:h2:mem:outboxtest"})
+class TransactionalOutboxTest {
+    
+    @Autowired
+    private TransactionalOutbox outbox;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Autowired
+    private WebApplicationContext context;
+    
+    @Test
+    void onlyCommittedMutationsReachTheOutboxInOrder() {
+        Account source = testAccounts.create(Money.of("100.00"));
+        Account target = testAccounts.create(Money.ZERO);
+        
+        accountService.deposit(source.getId(), Money.of("10.00"));
+        accountService.withdraw(source.getId(), Money.of("30.00"));
+        assertThatThrownBy(() -> accountService.withdraw(source.getId(), Money.of("1000.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        accountService.transfer(source.getId(), target.getId(), Money.of("50.00"));
+        
+        List<OutboxEvent> events = outbox.read(0, 100_000).stream()
+                .filter(event -> event.getAccountId().equals(source.getId()) || event.getAccountId().equals(target.getId()))
+                .toList();
+        assertThat(events).extracting(OutboxEvent::getEventType).containsExactly(
+                OperationType.DEPOSIT, OperationType.WITHDRAWAL, OperationType.TRANSFER_OUT, OperationType.TRANSFER_IN);
+        assertThat(events).extracting(OutboxEvent::getBalanceAfter)
+                .containsExactly(Money.of("110.00"), Money.of("80.00"), Money.of("30.00"), Money.of("50.00"));
+        assertThat(events).extracting(OutboxEvent::getId).isSorted();
+    }
+    
+    @Test
+    void relayDrainsOrderedBatchesAndTracksItsPosition() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            accounts.add(testAccounts.create(Money.ZERO));
+        }
+        List<BatchInstruction> instructions = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            instructions.add(new BatchInstruction(BatchInstruction.Type.DEPOSIT, accounts.get(i % 100).getId(), null, Money.of(1)));
+        }
+        batchTransactionService.execute(instructions);
+        
+        Set<Long> accountIds = new HashSet<>();
+        accounts.forEach(account -> accountIds.add(account.getId()));
+        List<Long> relayedIds = new ArrayList<>();
+        OutboxConsumer consumer = batch -> batch.stream()
+                .filter(event -> accountIds.contains(event.getAccountId()))
+                .forEach(event -> relayedIds.add(event.getId()));
+        outboxOffsetRepository.save(new OutboxOffset(OutboxRelay.RELAY_CONSUMER, 0L, LocalDateTime.now()));
+        OutboxRelay relay = new OutboxRelay(outbox, outboxEventRepository, outboxOffsetRepository, transactionTemplate,
+                List.of(consumer), true, 1000, 10, 60);
+        
+        int relayed = 0;
+        for (int count = relay.relayBatch(); count > 0; count = relay.relayBatch()) {
+            relayed += count;
+        }
+        
+        assertThat(relayed).isGreaterThanOrEqualTo(20_000);
+        assertThat(relayedIds).hasSize(20_000).isSorted();
+        assertThat(relay.position()).isEqualTo(outbox.committedUpTo());
+        assertThat(outboxOffsetRepository.findById(OutboxRelay.RELAY_CONSUMER).orElseThrow().getPosition())
+                .isEqualTo(relay.position());
+    }
+    
+    @Test
+    void eventsArePurgedOnlyWhenAConsumerReadsThemAndStalePollersGetGone() throws Exception {
+        Account account = testAccounts.create(Money.ZERO);
+        accountService.deposit(account.getId(), Money.of("5.00"));
+        accountService.deposit(account.getId(), Money.of("7.00"));
+        outboxOffsetRepository.save(new OutboxOffset(OutboxRelay.RELAY_CONSUMER, 0L, LocalDateTime.now()));
+        
+        OutboxRelay withoutConsumer = new OutboxRelay(outbox, outboxEventRepository, outboxOffsetRepository,
+                transactionTemplate, List.of(), true, 1000, 10, 0);
+        while (withoutConsumer.relayBatch() > 0) {
+            // lecture jusqu'à la fin de l'outbox
+        }
+        assertThat(withoutConsumer.purge()).isZero();
+        assertThat(withoutConsumer.purgedUpTo()).isZero();
+        assertThat(outbox.read(0, 100_000)).extracting(OutboxEvent::getAccountId).contains(account.getId());
+        
+        outboxOffsetRepository.save(new OutboxOffset(OutboxRelay.RELAY_CONSUMER, 0L, LocalDateTime.now()));
+        OutboxRelay withConsumer = new OutboxRelay(outbox, outboxEventRepository, outboxOffsetRepository,
+                transactionTemplate, List.of(batch -> { }), true, 1000, 10, 0);
+        while (withConsumer.relayBatch() > 0) {
+            // lecture jusqu'à la fin de l'outbox
+        }
+        Thread.sleep(5);
+        assertThat(withConsumer.purge()).isPositive();
+        long horizon = withConsumer.purgedUpTo();
+        assertThat(horizon).isPositive().isLessThanOrEqualTo(withConsumer.position());
+        assertThat(outbox.read(0, 100_000)).extracting(OutboxEvent::getId).allMatch(id -> id > horizon);
+        
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        mockMvc.perform(get("/api/outbox").param("after", "0"))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/outbox").param("after", String.valueOf(horizon)))
+                .andExpect(status().isOk());
+    }
+}
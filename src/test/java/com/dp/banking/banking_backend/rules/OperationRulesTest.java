@@ -0,0 +1,78 @@
+package com.dp.banking.banking_backend.rules;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.decorator.AccountDecoratorRegistry;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "banking.rules.checking.overdraft-limit=100",
+        "banking.rules.checking.daily-withdrawal-limit=300",
+        "banking.rules.savings.allowed-operations=DEPOSIT,TRANSFER_OUT,TRANSFER_IN,INTEREST",
+        "spring.datasource.url=jdbc:h2:mem:rulestest"})
+class OperationRulesTest {
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private AccountDecoratorRegistry decoratorRegistry;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void overdraftIsAllowedDownToTheConfiguredFloor() {
+        Account account = testAccounts.create(Account.AccountType.CHECKING, Money.of("50.00"));
+        Account other = testAccounts.create(Account.AccountType.CHECKING, Money.of("50.00"));
+        
+        assertThat(accountService.withdraw(account.getId(), Money.of("120.00")).getBalance()).isEqualTo(Money.of("-70.00"));
+        assertThatThrownBy(() -> accountService.withdraw(account.getId(), Money.of("40.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Solde insuffisant");
+        
+        accountService.transfer(other.getId(), account.getId(), Money.of("140.00"));
+        assertThat(accountRepository.findById(other.getId()).orElseThrow().getBalance()).isEqualTo(Money.of("-90.00"));
+    }
+    
+    @Test
+    void dailyWithdrawalLimitIsReservedAndReleasedOnFailure() {
+        Account account = testAccounts.create(Account.AccountType.CHECKING, Money.of("50.00"));
+        
+        assertThatThrownBy(() -> accountService.withdraw(account.getId(), Money.of("200.00")))
+                .hasMessage("Solde insuffisant");
+        accountService.deposit(account.getId(), Money.of("1000.00"));
+        accountService.withdraw(account.getId(), Money.of("200.00"));
+        accountService.withdraw(account.getId(), Money.of("100.00"));
+        assertThatThrownBy(() -> accountService.withdraw(account.getId(), Money.of("0.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plafond de retrait journalier dépassé");
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualTo(Money.of("750.00"));
+    }
+    
+    @Test
+    void decoratorsDelegateToCompiledRules() {
+        Account savings = testAccounts.create(Account.AccountType.SAVINGS, Money.of("500.00"));
+        Account checking = testAccounts.create(Account.AccountType.CHECKING, Money.of("500.00"));
+        
+        assertThat(decoratorRegistry.forAccount(savings).isOperationAllowed(savings, Money.of(10), OperationType.WITHDRAWAL)).isFalse();
+        assertThat(decoratorRegistry.forAccount(savings).isOperationAllowed(savings, Money.of(10), "TRANSFER_OUT")).isTrue();
+        assertThat(decoratorRegistry.forAccount(checking).isOperationAllowed(checking, Money.of("550.00"), "TRANSFER_OUT")).isTrue();
+        assertThat(decoratorRegistry.forAccount(checking).isOperationAllowed(checking, Money.of("650.00"), "TRANSFER_OUT")).isFalse();
+        assertThatThrownBy(() -> accountService.withdraw(savings.getId(), Money.of(10)))
+                .hasMessage("Opération non autorisée pour ce type de compte");
+    }
+}
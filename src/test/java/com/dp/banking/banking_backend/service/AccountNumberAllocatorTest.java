@@ -0,0 +1,84 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.metrics.ServiceMetrics;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AccountNumberAllocatorTest {
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+    
+    @Test
+    void parallelCreationAllocatesUniqueValidNumbers() throws Exception {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        numbers.add(accountService.save(newAccount(null)).getAccountNumber());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(numbers).hasSize(400).allMatch(AccountNumberGenerator::isValidIban);
+    }
+    
+    @Test
+    void duplicateNumberIsRejectedByUniqueConstraint() {
+        String number = accountService.save(newAccount(null)).getAccountNumber();
+        
+        assertThatThrownBy(() -> accountService.save(newAccount(number)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Un compte avec ce numéro existe déjà");
+    }
+    
+    @Test
+    void otherIntegrityViolationsAreNotReportedAsDuplicates() {
+        long duplicates = serviceMetrics.snapshot().counters().get("duplicateAccountNumber");
+        Account account = newAccount(null);
+        account.setAccountType(null);
+        
+        assertThatThrownBy(() -> accountService.save(account))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageNotContaining("existe déjà");
+        assertThat(serviceMetrics.snapshot().counters().get("duplicateAccountNumber")).isEqualTo(duplicates);
+    }
+    
+    private static Account newAccount(String accountNumber) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountHolder("Allocation Test");
+        account.setBalance(Money.ZERO);
+        return account;
+    }
+}
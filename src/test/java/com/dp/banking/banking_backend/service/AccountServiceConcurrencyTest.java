@@ -0,0 +1,155 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de charge multi-thread : vérifie la conservation de l'argent sur un compte chaud
+ * et affiche le débit obtenu pour chaque stratégie de mise à jour du solde.
+ */
+@SpringBootTest
+class AccountServiceConcurrencyTest {
+    
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 200;
+    private static final int MAX_RETRIES = 50;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void conditionalUpdateConservesMoneyOnHotAccount() throws Exception {
+        Account account = testAccounts.create(Money.of("1000.00"));
+        
+        Result result = run("conditional-update", (threadIndex, i) -> {
+            if ((threadIndex + i) % 2 == 0) {
+                accountService.deposit(account.getId(), Money.of(1));
+            } else {
+                accountService.withdraw(account.getId(), Money.of(10));
+            }
+        });
+        
+        assertConserved(account.getId(), Money.of("1000.00"), result);
+    }
+    
+    @Test
+    void optimisticRetryConservesMoneyOnHotAccount() throws Exception {
+        Account account = testAccounts.create(Money.of("1000.00"));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        
+        Result result = run("optimistic-retry", (threadIndex, i) -> {
+            Money delta = (threadIndex + i) % 2 == 0 ? Money.of(1) : Money.of(10).negate();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    tx.executeWithoutResult(status -> {
+                        Account current = accountRepository.findById(account.getId()).orElseThrow();
+                        Money newBalance = current.getBalance().plus(delta);
+                        if (newBalance.signum() < 0) {
+                            throw new IllegalArgumentException("Solde insuffisant");
+                        }
+                        current.setBalance(newBalance);
+                    });
+                    return;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (attempt >= MAX_RETRIES) {
+                        throw e;
+                    }
+                }
+            }
+        });
+        
+        assertConserved(account.getId(), Money.of("1000.00"), result);
+    }
+    
+    private void assertConserved(Long accountId, Money initial, Result result) {
+        Money expected = initial
+                .plus(Money.of(result.deposits))
+                .minus(Money.of(10L * result.withdrawals));
+        Money actual = accountRepository.findById(accountId).orElseThrow().getBalance();
+        
+        assertThat(result.unexpectedErrors).isZero();
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.signum()).isGreaterThanOrEqualTo(0);
+    }
+    
+    private Result run(String strategy, Operation operation) throws Exception {
+        AtomicInteger deposits = new AtomicInteger();
+        AtomicInteger withdrawals = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        AtomicInteger unexpectedErrors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        boolean isDeposit = (threadIndex + i) % 2 == 0;
+                        try {
+                            operation.apply(threadIndex, i);
+                            (isDeposit ? deposits : withdrawals).incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            rejections.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            unexpectedErrors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            
+            int total = THREADS * OPERATIONS_PER_THREAD;
+            System.out.printf("[%s] %d opérations en %d ms -> %.0f ops/s (rejets: %d, erreurs: %d)%n",
+                    strategy, total, elapsedNanos / 1_000_000, total * 1e9 / elapsedNanos,
+                    rejections.get(), unexpectedErrors.get());
+            return new Result(deposits.get(), withdrawals.get(), unexpectedErrors.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Operation {
+        void apply(int threadIndex, int iteration);
+    }
+    
+    private record Result(int deposits, int withdrawals, int unexpectedErrors) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de concurrence des virements : des threads effectuent des virements aléatoires
+ * (donc croisés A→B / B→A) entre un petit nombre de comptes, puis on vérifie que le total
+ * est inchangé et on affiche le débit et la latence p99.
+ */
+@SpringBootTest
+class AccountTransferConcurrencyTest {
+    
+    private static final int ACCOUNTS = 10;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 250;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void randomConcurrentTransfersKeepTotalBalanceConstant() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids.add(testAccounts.create(Money.of("500.00")).getId());
+        }
+        Money totalBefore = total(ids);
+        
+        AtomicInteger unexpectedErrors = new AtomicInteger();
+        long[][] latencies = new long[THREADS][TRANSFERS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsedNanos;
+        
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long[] threadLatencies = latencies[t];
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    start.await();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        Long from = ids.get(random.nextInt(ACCOUNTS));
+                        Long to = ids.get(random.nextInt(ACCOUNTS));
+                        Money amount = Money.of(random.nextInt(1, 100));
+                        long begin = System.nanoTime();
+                        try {
+                            accountService.transfer(from, to, amount);
+                        } catch (IllegalArgumentException e) {
+                            // même compte ou solde insuffisant : rejet métier attendu
+                        } catch (RuntimeException e) {
+                            unexpectedErrors.incrementAndGet();
+                        }
+                        threadLatencies[i] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long p99 = all[(int) Math.ceil(all.length * 0.99) - 1];
+        System.out.printf("[transfer] %d virements en %d ms -> %.0f virements/s, p99 = %.2f ms%n",
+                all.length, elapsedNanos / 1_000_000, all.length * 1e9 / elapsedNanos, p99 / 1e6);
+        
+        assertThat(unexpectedErrors.get()).isZero();
+        assertThat(total(ids)).isEqualTo(totalBefore);
+    }
+    
+    private Money total(List<Long> ids) {
+        return accountRepository.findAllById(ids).stream()
+                .map(Account::getBalance)
+                .reduce(Money.ZERO, Money::plus);
+    }
+}
@@ -0,0 +1,74 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.dto.BatchInstruction;
+import com.dp.banking.banking_backend.dto.BatchResult;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"banking.batch.chunk-size=2", "spring.datasource.url=jdbc:h2:mem:batchtest"})
+class BatchTransactionServiceTest {
+    
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void invalidInstructionsAreRejectedOneByOne() {
+        Account account = testAccounts.create(Money.of("100.00"));
+        Account other = testAccounts.create(Money.ZERO);
+        
+        List<BatchResult> results = batchTransactionService.execute(Arrays.asList(
+                new BatchInstruction(BatchInstruction.Type.DEPOSIT, account.getId(), null, Money.of("10.00")),
+                null,
+                new BatchInstruction(BatchInstruction.Type.WITHDRAW, account.getId(), null, Money.of("500.00")),
+                new BatchInstruction(BatchInstruction.Type.DEPOSIT, Long.MAX_VALUE, null, Money.of("1.00")),
+                new BatchInstruction(null, account.getId(), null, Money.of("1.00")),
+                new BatchInstruction(BatchInstruction.Type.TRANSFER, account.getId(), other.getId(), Money.of("30.00"))));
+        
+        assertThat(results).extracting(BatchResult::success).containsExactly(true, false, false, false, false, true);
+        assertThat(results.get(1).message()).isEqualTo("Instruction manquante");
+        assertThat(results.get(2).message()).isEqualTo("Solde insuffisant");
+        assertThat(results.get(3).message()).startsWith("Compte non trouvé");
+        assertThat(results.get(5).balance()).isEqualTo(Money.of("80.00"));
+        assertThat(balanceOf(account)).isEqualTo(Money.of("80.00"));
+        assertThat(balanceOf(other)).isEqualTo(Money.of("30.00"));
+    }
+    
+    @Test
+    void failedChunkIsRolledBackWithoutLeakingTheCause() {
+        Account account = testAccounts.create(Money.of("100.00"));
+        Account full = testAccounts.create(Money.of("9999999999999.00"));
+        
+        // Le second dépôt dépasse la capacité de la colonne du solde : la base refuse la tranche au commit
+        List<BatchResult> results = batchTransactionService.execute(List.of(
+                new BatchInstruction(BatchInstruction.Type.DEPOSIT, account.getId(), null, Money.of("1.00")),
+                new BatchInstruction(BatchInstruction.Type.DEPOSIT, account.getId(), null, Money.of("2.00")),
+                new BatchInstruction(BatchInstruction.Type.DEPOSIT, account.getId(), null, Money.of("4.00")),
+                new BatchInstruction(BatchInstruction.Type.DEPOSIT, full.getId(), null, Money.of("1000.00"))));
+        
+        assertThat(results).extracting(BatchResult::success).containsExactly(true, true, false, false);
+        assertThat(results.subList(2, 4)).extracting(BatchResult::message)
+                .containsOnly("Échec technique : instruction non appliquée, le lot peut être soumis à nouveau");
+        assertThat(balanceOf(account)).isEqualTo(Money.of("103.00"));
+        assertThat(balanceOf(full)).isEqualTo(Money.of("9999999999999.00"));
+    }
+    
+    private Money balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,225 @@
+package com.dp.banking.banking_backend.service;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.cache.AccountCache;
+import com.dp.banking.banking_backend.decorator.AccountDecorator;
+import com.dp.banking.banking_backend.decorator.AccountDecoratorRegistry;
+import com.dp.banking.banking_backend.decorator.BusinessAccountDecorator;
+import com.dp.banking.banking_backend.decorator.CheckingAccountDecorator;
+import com.dp.banking.banking_backend.decorator.SavingsAccountDecorator;
+import com.dp.banking.banking_backend.dto.InterestRunReport;
+import com.dp.banking.banking_backend.journal.TransactionJournal;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.JournalEntry;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.OperationType;
+import com.dp.banking.banking_backend.repository.AccountRepository;
+import com.dp.banking.banking_backend.repository.InterestRunRepository;
+import com.dp.banking.banking_backend.rules.OperationRules;
+import com.dp.banking.banking_backend.util.AccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"banking.interest.chunk-size=100", "banking.interest.parallelism=2",
+        "spring.datasource.url=jdbc:h2:mem:interesttest"})
+class InterestAccrualServiceTest {
+    
+    private static final int BULK_ACCOUNTS = 2_000;
+    private static final long BULK_OFFSET = 90_000_000_000L;
+    private static final String BULK_HOLDER = "Interest Test";
+    
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+    
+    @Autowired
+    private TransactionJournal transactionJournal;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+    
+    @Autowired
+    private AccountDecoratorRegistry decoratorRegistry;
+    
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private AccountCache accountCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private OperationRules operationRules;
+    
+    @Autowired
+    private CheckingAccountDecorator checkingDecorator;
+    
+    @Autowired
+    private SavingsAccountDecorator savingsDecorator;
+    
+    @Test
+    void monthStartRunAppliesInterestAndFeesPerAccountType() {
+        Account savings = testAccounts.create(Account.AccountType.SAVINGS, Money.of("36500.00"));
+        Account checking = testAccounts.create(Account.AccountType.CHECKING, Money.of("100.00"));
+        Account poorChecking = testAccounts.create(Account.AccountType.CHECKING, Money.of("1.00"));
+        Account business = testAccounts.create(Account.AccountType.BUSINESS, Money.of("5000.00"));
+        Account richBusiness = testAccounts.create(Account.AccountType.BUSINESS, Money.of("20000.00"));
+        
+        interestAccrualService.run(LocalDate.of(2026, 10, 1));
+        
+        // épargne : intérêts plafonnés à 22 950 x 3 % / 365
+        assertThat(balanceOf(savings)).isEqualTo(Money.of("36501.89"));
+        assertThat(balanceOf(checking)).isEqualTo(Money.of("98.00"));
+        assertThat(balanceOf(poorChecking)).isEqualTo(Money.of("0.00"));
+        assertThat(balanceOf(business)).isEqualTo(Money.of("4985.07"));
+        assertThat(balanceOf(richBusiness)).isEqualTo(Money.of("20000.27"));
+        assertThat(transactionJournal.history(business.getId(), null, null, null, 10))
+                .extracting(JournalEntry::getType).containsExactly(OperationType.FEE, OperationType.INTEREST);
+    }
+    
+    @Test
+    void feesNeverCreditAnOverdrawnAccount() {
+        Account overdrawn = testAccounts.create(Account.AccountType.CHECKING, Money.ZERO);
+        jdbcTemplate.update("UPDATE accounts SET balance = -70.00 WHERE id = ?", overdrawn.getId());
+        
+        InterestRunReport report = interestAccrualService.run(LocalDate.of(2026, 11, 1));
+        
+        assertThat(report.feesRejected()).isZero();
+        assertThat(balanceOf(overdrawn)).isEqualTo(Money.of("-70.00"));
+        assertThat(transactionJournal.history(overdrawn.getId(), null, null, null, 10)).isEmpty();
+        
+        Account snapshot = accountRepository.findById(overdrawn.getId()).orElseThrow();
+        assertThat(decoratorRegistry.forAccount(snapshot).applyBusinessRules(snapshot).getBalance())
+                .isEqualTo(Money.of("-70.00"));
+    }
+    
+    @Test
+    void midMonthRunAccruesInterestAcrossParallelChunksWithoutFees() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < BULK_ACCOUNTS; i++) {
+            rows.add(new Object[]{accountNumberGenerator.generateAccountNumber(BULK_OFFSET + i), BULK_HOLDER,
+                    new BigDecimal("1000.00"), Account.AccountType.SAVINGS.name(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO accounts (account_number, account_holder, balance, account_type, created_at, "
+                + "updated_at, is_active, version) VALUES (?, ?, ?, ?, ?, ?, TRUE, 0)", rows);
+        Account checking = testAccounts.create(Account.AccountType.CHECKING, Money.of("100.00"));
+        
+        InterestRunReport report = interestAccrualService.run(LocalDate.of(2026, 10, 15));
+        
+        assertThat(report.accounts()).isEqualTo(activeAccounts());
+        assertThat(report.interestCredited()).isGreaterThanOrEqualTo(BULK_ACCOUNTS);
+        assertThat(report.feesCharged()).isZero();
+        assertThat(report.feesRejected()).isZero();
+        assertThat(report.totalFees()).isEqualTo(Money.ZERO);
+        assertThat(report.totalInterest()).isGreaterThanOrEqualTo(Money.ofMinor(8L * BULK_ACCOUNTS));
+        assertThat(balanceOf(checking)).isEqualTo(Money.of("100.00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE account_holder = ? AND balance = 1000.08",
+                Long.class, BULK_HOLDER)).isEqualTo(BULK_ACCOUNTS);
+    }
+    
+    @Test
+    void valueDateIsAppliedOnlyOnce() {
+        Account savings = testAccounts.create(Account.AccountType.SAVINGS, Money.of("36500.00"));
+        LocalDate valueDate = LocalDate.of(2026, 12, 15);
+        
+        InterestRunReport first = interestAccrualService.run(valueDate);
+        Money credited = balanceOf(savings);
+        
+        assertThatThrownBy(() -> interestAccrualService.run(valueDate))
+                .isInstanceOfSatisfying(InterestAlreadyAppliedException.class, e -> {
+                    assertThat(e.report().valueDate()).isEqualTo(valueDate);
+                    assertThat(e.report().interestCredited()).isEqualTo(first.interestCredited());
+                    assertThat(e.report().totalInterest()).isEqualTo(first.totalInterest());
+                });
+        assertThat(balanceOf(savings)).isEqualTo(credited);
+        assertThat(transactionJournal.history(savings.getId(), null, null, null, 10)).hasSize(1);
+    }
+    
+    @Test
+    void feeBelowTheOverdraftFloorIsRejectedButInterestIsStillCredited() {
+        Account business = testAccounts.create(Account.AccountType.BUSINESS, Money.of("5000.00"));
+        AtomicReference<InterestAccrualService> service = new AtomicReference<>();
+        AtomicReference<Throwable> concurrentRun = new AtomicReference<>();
+        // Retrait concurrent entre la lecture de la tranche et son écriture : les frais calculés ne passent plus
+        service.set(serviceWithBusinessFeeHook(account -> {
+            if (account.getId().equals(business.getId())) {
+                jdbcTemplate.update("UPDATE accounts SET balance = 5.00 WHERE id = ?", business.getId());
+                try {
+                    service.get().run(LocalDate.of(2027, 1, 2));
+                } catch (RuntimeException e) {
+                    concurrentRun.set(e);
+                }
+            }
+        }));
+        
+        InterestRunReport report = service.get().run(LocalDate.of(2027, 1, 1));
+        
+        assertThat(concurrentRun.get()).isInstanceOf(InterestRunInProgressException.class);
+        assertThat(interestRunRepository.existsById(LocalDate.of(2027, 1, 2))).isFalse();
+        assertThat(report.feesRejected()).isEqualTo(1);
+        assertThat(balanceOf(business)).isEqualTo(Money.of("5.07"));
+        assertThat(transactionJournal.history(business.getId(), null, null, null, 10))
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.getType()).isEqualTo(OperationType.INTEREST);
+                    assertThat(entry.getAmount()).isEqualTo(Money.of("0.07"));
+                    assertThat(entry.getBalanceAfter()).isEqualTo(Money.of("5.07"));
+                });
+    }
+    
+    /**
+     * Service distinct du bean, dont le décorateur des comptes professionnels appelle {@code beforeFees}
+     * au moment de calculer les frais d'un compte
+     */
+    private InterestAccrualService serviceWithBusinessFeeHook(Consumer<Account> beforeFees) {
+        AccountDecorator business = new BusinessAccountDecorator(new BigDecimal("0.005"), new BigDecimal("15.00"),
+                new BigDecimal("10000"), operationRules) {
+            @Override
+            public Money chargeableFees(Account account, Money balance) {
+                beforeFees.accept(account);
+                return super.chargeableFees(account, balance);
+            }
+        };
+        AccountDecoratorRegistry registry = new AccountDecoratorRegistry(List.of(checkingDecorator, savingsDecorator, business));
+        return new InterestAccrualService(accountRepository, interestRunRepository, registry, jdbcTemplate,
+                transactionTemplate, accountCache, eventPublisher, operationRules, 100, 2);
+    }
+    
+    private long activeAccounts() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE is_active = TRUE", Long.class);
+    }
+    
+    private Money balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
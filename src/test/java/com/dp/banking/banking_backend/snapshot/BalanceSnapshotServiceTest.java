@@ -0,0 +1,107 @@
+package com.dp.banking.banking_backend.snapshot;
+
+import com.dp.banking.banking_backend.TestAccounts;
+import com.dp.banking.banking_backend.dto.PointInTimeBalance;
+import com.dp.banking.banking_backend.model.Account;
+import com.dp.banking.banking_backend.model.Money;
+import com.dp.banking.banking_backend.model.SnapshotRun;
+import com.dp.banking.banking_backend.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BalanceSnapshotServiceTest {
+    
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TestAccounts testAccounts;
+    
+    @Test
+    void balanceAtIsServedFromTheNearestSourceBeforeTheDate() throws Exception {
+        Account account = testAccounts.create(Account.AccountType.SAVINGS, Money.of("100.00"));
+        
+        LocalDateTime beforeAnyData = tick();
+        accountService.deposit(account.getId(), Money.of("50.00"));
+        LocalDateTime afterDeposit = tick();
+        SnapshotRun run = balanceSnapshotService.takeSnapshot();
+        LocalDateTime afterSnapshot = tick();
+        accountService.deposit(account.getId(), Money.of("25.00"));
+        LocalDateTime now = tick();
+        
+        assertThat(run.getCompletedAt()).isNotNull();
+        assertThat(run.getAccountCount()).isGreaterThanOrEqualTo(1);
+        assertThat(balanceSnapshotService.balanceAt(account.getId(), now).orElseThrow())
+                .extracting(PointInTimeBalance::balance, PointInTimeBalance::source)
+                .containsExactly(Money.of("175.00"), PointInTimeBalance.Source.CURRENT);
+        assertThat(balanceSnapshotService.balanceAt(account.getId(), afterSnapshot).orElseThrow())
+                .extracting(PointInTimeBalance::source).isEqualTo(PointInTimeBalance.Source.SNAPSHOT);
+        assertThat(balanceSnapshotService.balanceAt(account.getId(), afterSnapshot).orElseThrow().balance())
+                .isEqualTo(Money.of("150.00"));
+        assertThat(balanceSnapshotService.balanceAt(account.getId(), afterDeposit).orElseThrow())
+                .extracting(PointInTimeBalance::source).isEqualTo(PointInTimeBalance.Source.JOURNAL);
+        assertThat(balanceSnapshotService.balanceAt(account.getId(), beforeAnyData)).isEmpty();
+        assertThatThrownBy(() -> balanceSnapshotService.balanceAt(Long.MAX_VALUE, now))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void concurrentStartsLaunchOneRunPerAcceptedRequest() throws Exception {
+        long lastRunId = lastRunId();
+        CountDownLatch go = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> starts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            starts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return balanceSnapshotService.startSnapshot();
+            }));
+        }
+        go.countDown();
+        long accepted = starts.stream().filter(CompletableFuture::join).count();
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<SnapshotRun> runs = newRuns(lastRunId);
+        while ((runs.size() < accepted || runs.stream().anyMatch(run -> run.getCompletedAt() == null))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            runs = newRuns(lastRunId);
+        }
+        
+        assertThat(accepted).isGreaterThanOrEqualTo(1);
+        assertThat(runs).hasSize((int) accepted).allMatch(run -> run.getCompletedAt() != null);
+    }
+    
+    private long lastRunId() {
+        return balanceSnapshotService.recentRuns().stream().mapToLong(SnapshotRun::getId).max().orElse(0L);
+    }
+    
+    private List<SnapshotRun> newRuns(long lastRunId) {
+        return balanceSnapshotService.recentRuns().stream().filter(run -> run.getId() > lastRunId).toList();
+    }
+    
+    private static LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+}
@@ -0,0 +1,36 @@
+package com.dp.banking.banking_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountNumberGeneratorTest {
+    
+    private final AccountNumberGenerator generator = new AccountNumberGenerator();
+    
+    @Test
+    void generatedNumbersAreValidFrenchIbans() {
+        String[] numbers = generator.generate(10_000);
+        
+        assertThat(numbers).allSatisfy(number -> {
+            assertThat(number).hasSize(27).startsWith("FR").contains("3000100794");
+            assertThat(AccountNumberGenerator.isValidIban(number)).isTrue();
+        });
+        assertThat(Arrays.stream(numbers).distinct().count()).isGreaterThan(9_990);
+        assertThat(AccountNumberGenerator.isValidIban(generator.generateAccountNumber())).isTrue();
+    }
+    
+    @Test
+    void validatesCheckDigitsAndFormat() {
+        assertThat(AccountNumberGenerator.isValidIban("FR1420041010050500013M02606")).isTrue();
+        assertThat(AccountNumberGenerator.isValidIban("FR7630001007941234567890185")).isTrue();
+        
+        assertThat(AccountNumberGenerator.isValidIban("FR7630001007941234567890186")).isFalse();
+        assertThat(AccountNumberGenerator.isValidIban("FR76 3000 1007 9412 3456 7890 185")).isFalse();
+        assertThat(AccountNumberGenerator.isValidIban("fr7630001007941234567890185")).isFalse();
+        assertThat(AccountNumberGenerator.isValidIban("FR76")).isFalse();
+        assertThat(AccountNumberGenerator.isValidIban(null)).isFalse();
+    }
+}